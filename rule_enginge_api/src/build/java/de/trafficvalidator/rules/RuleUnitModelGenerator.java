@@ -0,0 +1,111 @@
+package de.trafficvalidator.rules;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.model.codegen.ExecutableModelProject;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build-time generator for the Drools executable model of all rule units.
+ * <p>
+ * Drools compiles rule unit DRL on first use by generating and compiling the executable model
+ * in memory. This generator runs the same compilation during the Maven build (process-classes
+ * phase) and writes the resulting classes and the {@code META-INF/services} registration of the
+ * generated rule units into the output directory. At runtime {@code RuleUnitProvider} finds the
+ * registered rule units through the service loader and skips the DRL compilation entirely.
+ * Building with {@code -Pruntime-drl} skips this step and keeps the runtime compilation.
+ * </p>
+ * <p>
+ * The generator is not part of the application: it lives outside {@code src/main} and is run by the
+ * build with the java source launcher, against the compile classpath and the compiled classes.
+ * </p>
+ * Usage: {@code java -classpath <compile classpath> RuleUnitModelGenerator.java <classes directory>}
+ */
+public final class RuleUnitModelGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(RuleUnitModelGenerator.class);
+
+    private static final String RULES_PATH = "de/trafficvalidator/rules";
+
+    private RuleUnitModelGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: RuleUnitModelGenerator <classes directory>");
+        }
+        // Outside of Spring the logback default is DEBUG, which floods the build output with compiler details
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+        generate(Paths.get(args[0]));
+    }
+
+    /**
+     * Compiles all rule unit DRL files below the classes directory into the executable model
+     * and writes the generated classes back into it
+     *
+     * @param classesDirectory The compiled classes directory containing the DRL resources
+     * @return The number of files written
+     */
+    public static int generate(Path classesDirectory) throws IOException {
+        long start = System.nanoTime();
+
+        KieServices kieServices = KieServices.get();
+        KieFileSystem kieFileSystem = kieServices.newKieFileSystem();
+        List<Path> drlFiles;
+        try (Stream<Path> files = Files.list(classesDirectory.resolve(RULES_PATH))) {
+            drlFiles = files.filter(file -> file.toString().endsWith(".drl")).sorted().collect(Collectors.toList());
+        }
+        for (Path drlFile : drlFiles) {
+            // Same resource path as on the classpath, so the generated model matches the runtime one.
+            // The DRL files are UTF-8, the platform charset would garble the umlauts of the failure reasons
+            kieFileSystem.write("src/main/resources/" + RULES_PATH + "/" + drlFile.getFileName(),
+                    kieServices.getResources().newFileSystemResource(drlFile.toFile(), StandardCharsets.UTF_8.name()));
+        }
+
+        KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
+        InternalKieModule kieModule = (InternalKieModule) kieBuilder.getKieModule(ExecutableModelProject.class);
+        List<Message> errors = kieBuilder.getResults().getMessages(Message.Level.ERROR);
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Rule unit compilation failed: " + errors);
+        }
+
+        int written = 0;
+        for (String fileName : kieModule.getFileNames()) {
+            if (!isGeneratedOutput(fileName)) {
+                continue;
+            }
+            Path target = classesDirectory.resolve(fileName);
+            Files.createDirectories(target.getParent());
+            Files.write(target, kieModule.getBytes(fileName));
+            written++;
+        }
+
+        logger.info("Generated executable model for {} rule unit files ({} classes and resources) in {} ms",
+                drlFiles.size(), written, (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    /**
+     * Keeps compiled classes, the rule unit service registration and the model index,
+     * but not generated sources, the DRL inputs or the synthetic Maven descriptor
+     */
+    private static boolean isGeneratedOutput(String fileName) {
+        if (fileName.startsWith("META-INF/services/") || fileName.startsWith("META-INF/kie/")) {
+            return true;
+        }
+        return fileName.endsWith(".class");
+    }
+}
@@ -2,6 +2,7 @@ package de.trafficvalidator;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Spring Boot main application class for the Traffic Light Validator.
@@ -11,6 +12,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class TrafficValidatorApplication {
     
     public static void main(String[] args) {
-        SpringApplication.run(TrafficValidatorApplication.class, args);
+        SpringApplication application = new SpringApplication(TrafficValidatorApplication.class);
+        // Records startup steps for the /actuator/startup endpoint
+        application.setApplicationStartup(new BufferingApplicationStartup(2048));
+        application.run(args);
     }
 }
\ No newline at end of file
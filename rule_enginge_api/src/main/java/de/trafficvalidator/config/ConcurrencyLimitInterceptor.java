@@ -0,0 +1,147 @@
+package de.trafficvalidator.config;
+
+import de.trafficvalidator.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits validation requests through the adaptive concurrency limit of their bulkhead.
+ * <p>
+ * Requests run in the "bulk" bulkhead if the caller marks them with the configured priority
+ * header set to "bulk", or if their path matches one of the configured bulk paths; everything else
+ * is "interactive". Bulk sweeps over many configurations call the regular validation endpoints, so
+ * they are selected by the header. A request that gets no permit within the queue timeout of its
+ * bulkhead is answered with 503 and a Retry-After header. Queued requests wait on their Tomcat
+ * worker thread, so with the default settings a full bulk queue holds up to 4 threads for up to 5 s.
+ * Per bulkhead the limit, in-flight and queued requests are exposed as the gauges
+ * {@code validator.limiter.limit}, {@code validator.limiter.inflight} and
+ * {@code validator.limiter.queued}, and rejections as the counter {@code validator.limiter.rejected}.
+ * </p>
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final LimiterConfig config;
+    private final Bulkhead interactive;
+    private final Bulkhead bulk;
+
+    /**
+     * Limiter, settings and rejection counter of one bulkhead
+     */
+    private static final class Bulkhead {
+        private final String name;
+        private final LimiterConfig.Bulkhead settings;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Counter rejected;
+
+        Bulkhead(String name, LimiterConfig.Bulkhead settings, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.settings = settings;
+            this.limiter = new AdaptiveConcurrencyLimiter(settings.getInitialLimit(), settings.getMinLimit(),
+                    settings.getMaxLimit(), settings.getMaxQueue());
+
+            Gauge.builder("validator.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Adaptive concurrency limit of the validation requests")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("validator.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Validation requests holding a permit")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("validator.limiter.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .description("Validation requests waiting for a permit")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("validator.limiter.rejected")
+                    .description("Validation requests answered with 503 because the limit was reached")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public ConcurrencyLimitInterceptor(LimiterConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.interactive = new Bulkhead("interactive", config.getInteractive(), meterRegistry);
+        this.bulk = new Bulkhead("bulk", config.getBulk(), meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!config.isEnabled()) {
+            return true;
+        }
+
+        Bulkhead bulkhead = isBulk(request) ? bulk : interactive;
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = bulkhead.limiter.tryAcquire(bulkhead.settings.getQueueTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+
+        if (permit == null) {
+            bulkhead.rejected.increment();
+            logger.warn("Rejecting {} request {}: limit {} reached with {} queued",
+                    bulkhead.name, request.getRequestURI(), bulkhead.limiter.getLimit(), bulkhead.limiter.getQueued());
+            reject(response, bulkhead);
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((AdaptiveConcurrencyLimiter.Permit) permit).release();
+        }
+    }
+
+    private boolean isBulk(HttpServletRequest request) {
+        if ("bulk".equalsIgnoreCase(request.getHeader(config.getPriorityHeader()))) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String bulkPath : config.getBulkPaths()) {
+            if (PATH_MATCHER.match(bulkPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, Bulkhead bulkhead) throws IOException {
+        int retryAfterSeconds = bulkhead.settings.getRetryAfterSeconds();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(String.format(
+                "{\"error\":\"Validation capacity of the %s bulkhead exhausted, retry later\",\"retryAfterSeconds\":%d}",
+                bulkhead.name, retryAfterSeconds));
+    }
+}
@@ -0,0 +1,179 @@
+package de.trafficvalidator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the adaptive concurrency limits of the validation endpoints.
+ * Interactive single validations and bulk sweeps each get their own limit (bulkhead).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "limiter")
+public class LimiterConfig {
+
+    /**
+     * Whether requests beyond the limits are queued and shed
+     */
+    private boolean enabled = true;
+
+    /**
+     * Header a caller sets to "bulk" to run its requests in the bulk bulkhead
+     */
+    private String priorityHeader = "X-Request-Priority";
+
+    /**
+     * Ant-style paths, below the context path, that always run in the bulk bulkhead; other bulk
+     * callers select it with the priority header
+     */
+    private List<String> bulkPaths = List.of("/api/debug/intersection/*/all");
+
+    /**
+     * Limits of single validations requested interactively (UI, agent)
+     */
+    private Bulkhead interactive = new Bulkhead(8, 2, 64, 16, 2000, 1);
+
+    /**
+     * Limits of bulk sweeps over many configurations
+     */
+    private Bulkhead bulk = new Bulkhead(2, 1, 8, 4, 5000, 5);
+
+    /**
+     * Concurrency limit and queue of one class of requests
+     */
+    public static class Bulkhead {
+
+        /**
+         * Limit before any latency has been observed
+         */
+        private int initialLimit;
+
+        /**
+         * Lower bound of the adaptive limit
+         */
+        private int minLimit;
+
+        /**
+         * Upper bound of the adaptive limit
+         */
+        private int maxLimit;
+
+        /**
+         * Requests waiting for a permit before further ones are rejected
+         */
+        private int maxQueue;
+
+        /**
+         * How long a queued request waits for a permit in milliseconds. The request keeps its
+         * servlet container worker thread while it waits.
+         */
+        private long queueTimeoutMs;
+
+        /**
+         * Retry-After in seconds sent with the 503 of a rejected request
+         */
+        private int retryAfterSeconds;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit, int maxQueue, long queueTimeoutMs,
+                        int retryAfterSeconds) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.maxQueue = maxQueue;
+            this.queueTimeoutMs = queueTimeoutMs;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public long getQueueTimeoutMs() {
+            return queueTimeoutMs;
+        }
+
+        public void setQueueTimeoutMs(long queueTimeoutMs) {
+            this.queueTimeoutMs = queueTimeoutMs;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPriorityHeader() {
+        return priorityHeader;
+    }
+
+    public void setPriorityHeader(String priorityHeader) {
+        this.priorityHeader = priorityHeader;
+    }
+
+    public List<String> getBulkPaths() {
+        return bulkPaths;
+    }
+
+    public void setBulkPaths(List<String> bulkPaths) {
+        this.bulkPaths = bulkPaths;
+    }
+
+    public Bulkhead getInteractive() {
+        return interactive;
+    }
+
+    public void setInteractive(Bulkhead interactive) {
+        this.interactive = interactive;
+    }
+
+    public Bulkhead getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(Bulkhead bulk) {
+        this.bulk = bulk;
+    }
+}
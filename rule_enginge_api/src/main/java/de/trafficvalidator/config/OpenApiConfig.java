@@ -7,12 +7,15 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.List;
 
 /**
- * Configuration for OpenAPI 3.0 documentation (Swagger)
+ * Configuration for OpenAPI 3.0 documentation (Swagger).
+ * Created lazily on the first documentation request, it is not needed for validation.
  */
+@Lazy
 @Configuration
 public class OpenApiConfig {
 
@@ -0,0 +1,51 @@
+package de.trafficvalidator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for JDK Flight Recorder recordings started through the debug API
+ */
+@Configuration
+@ConfigurationProperties(prefix = "recording")
+public class RecordingConfig {
+
+    /**
+     * Directory the recordings are written to
+     */
+    private String directory = System.getProperty("java.io.tmpdir");
+
+    /**
+     * JFR settings used when the start request names none: 'default' or 'profile'
+     */
+    private String settings = "profile";
+
+    /**
+     * Maximum length of a recording in minutes; it is stopped and written automatically afterwards
+     */
+    private int maxDurationMinutes = 30;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public int getMaxDurationMinutes() {
+        return maxDurationMinutes;
+    }
+
+    public void setMaxDurationMinutes(int maxDurationMinutes) {
+        this.maxDurationMinutes = maxDurationMinutes;
+    }
+}
@@ -0,0 +1,65 @@
+package de.trafficvalidator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the startup warm-up of parsers and rule units
+ */
+@Configuration
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupConfig {
+
+    /**
+     * Whether to run the warm-up before the application reports readiness
+     */
+    private boolean enabled = true;
+
+    /**
+     * ID of the sample intersection configuration used for the warm-up
+     */
+    private String intersectionId = "644";
+
+    /**
+     * How often every registered rule unit is fired on the sample intersection
+     */
+    private int iterations = 3;
+
+    /**
+     * Whether to shut the application down once the warm-up has finished.
+     * Used for training runs, e.g. to record the class data sharing archive of the container image.
+     */
+    private boolean exitAfterWarmup = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getIntersectionId() {
+        return intersectionId;
+    }
+
+    public void setIntersectionId(String intersectionId) {
+        this.intersectionId = intersectionId;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public boolean isExitAfterWarmup() {
+        return exitAfterWarmup;
+    }
+
+    public void setExitAfterWarmup(boolean exitAfterWarmup) {
+        this.exitAfterWarmup = exitAfterWarmup;
+    }
+}
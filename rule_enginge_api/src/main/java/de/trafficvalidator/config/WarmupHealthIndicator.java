@@ -0,0 +1,44 @@
+package de.trafficvalidator.config;
+
+import de.trafficvalidator.service.WarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the state and duration of the startup warm-up under "warmup" in /actuator/health.
+ * A failed warm-up reports the instance as down, with the error as detail.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    public WarmupHealthIndicator(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    public Health health() {
+        if (!warmupService.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        if (!warmupService.isCompleted()) {
+            return Health.unknown()
+                    .withDetail("enabled", true)
+                    .withDetail("stageDurationsMs", warmupService.getStageMillis())
+                    .build();
+        }
+
+        Health.Builder builder = warmupService.getError() == null ? Health.up() : Health.down();
+        builder.withDetail("enabled", true)
+                .withDetail("intersectionId", warmupService.getIntersectionId())
+                .withDetail("iterations", warmupService.getIterations())
+                .withDetail("durationMs", warmupService.getDurationMillis())
+                .withDetail("stageDurationsMs", warmupService.getStageMillis());
+        if (warmupService.getError() != null) {
+            builder.withDetail("error", warmupService.getError());
+        }
+        return builder.build();
+    }
+}
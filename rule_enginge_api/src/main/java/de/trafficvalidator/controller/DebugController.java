@@ -1,5 +1,6 @@
 package de.trafficvalidator.controller;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,10 +10,19 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import de.trafficvalidator.model.Connection;
@@ -20,11 +30,14 @@ import de.trafficvalidator.model.Intersection;
 import de.trafficvalidator.model.Lane;
 import de.trafficvalidator.model.SignalGroup;
 import de.trafficvalidator.service.IntersectionService;
+import de.trafficvalidator.service.RecordingService;
 import de.trafficvalidator.service.ValidationService;
 
 /**
- * Controller for debug endpoints to help troubleshoot validation issues
+ * Controller for debug endpoints to help troubleshoot validation issues.
+ * Created lazily on the first debug request.
  */
+@Lazy
 @RestController
 @RequestMapping("/api/debug")
 public class DebugController {
@@ -32,11 +45,15 @@ public class DebugController {
     
     private final ValidationService validationService;
     private final IntersectionService intersectionService;
+    private final RecordingService recordingService;
     
     @Autowired
-    public DebugController(ValidationService validationService, IntersectionService intersectionService) {
+    public DebugController(ValidationService validationService,
+                           IntersectionService intersectionService,
+                           RecordingService recordingService) {
         this.validationService = validationService;
         this.intersectionService = intersectionService;
+        this.recordingService = recordingService;
     }
     
     /**
@@ -95,6 +112,80 @@ public class DebugController {
         }
     }
     
+    /**
+     * Parse all intersections of a (multi-intersection) MAPEM configuration
+     */
+    @GetMapping("/intersection/{id}/all")
+    public ResponseEntity<Map<String, Object>> getAllIntersections(@PathVariable String id) {
+        try {
+            List<Map<String, Object>> intersections = new ArrayList<>();
+            for (Intersection intersection : intersectionService.loadIntersections(id)) {
+                Map<String, Object> info = new HashMap<>();
+                info.put("intersectionId", intersection.getId());
+                info.put("regionId", intersection.getRegionId());
+                info.put("name", intersection.getName());
+                info.put("connectionCount", intersection.getConnections().size());
+                info.put("laneCount", intersection.getLanes().size());
+                info.put("signalGroupCount", intersection.getPhysicalSignalGroups().size());
+                intersections.add(info);
+            }
+            
+            Map<String, Object> details = new HashMap<>();
+            details.put("id", id);
+            details.put("intersections", intersections);
+            return ResponseEntity.ok(details);
+        } catch (Exception e) {
+            logger.error("Error getting intersections", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+    
+    /**
+     * Get the state of the JDK Flight Recorder recording
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<Map<String, Object>> getRecordingStatus() {
+        return ResponseEntity.ok(recordingService.getStatus());
+    }
+    
+    /**
+     * Start a JDK Flight Recorder recording including the validation phase events
+     */
+    @PostMapping("/recording/start")
+    public ResponseEntity<Map<String, Object>> startRecording(@RequestParam(required = false) String settings) {
+        try {
+            return ResponseEntity.ok(recordingService.start(settings));
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (Exception e) {
+            logger.error("Error starting recording", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Stop the JDK Flight Recorder recording and download the .jfr file
+     */
+    @PostMapping("/recording/stop")
+    public ResponseEntity<Resource> stopRecording() {
+        try {
+            Path file = recordingService.stop();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body(new FileSystemResource(file));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
     /**
      * Get detailed information about a specific connection
      */
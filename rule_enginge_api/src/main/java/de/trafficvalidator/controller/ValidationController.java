@@ -17,9 +17,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for traffic light validation requests
@@ -42,6 +41,9 @@ public class ValidationController {
      * 
      * @param id The ID of the intersection configuration to validate
      * @param ruleset The ruleset to validate against (default: 'cyclist-arrow')
+     * @param engine The engine evaluating the ruleset: 'drools' (default), 'java' for the plain Java implementation
+     *               or 'drools-partitioned' to fire independent partitions in parallel
+     * @param timings Whether to include the stage timings of the validation
      * @return Validation results for the intersection
      */
     @Operation(
@@ -50,17 +52,34 @@ public class ValidationController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful validation"),
+        @ApiResponse(responseCode = "400", description = "Unknown ruleset or engine, or the engine does not support the ruleset"),
         @ApiResponse(responseCode = "404", description = "Intersection configuration not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error during validation")
+        @ApiResponse(responseCode = "500", description = "Internal server error during validation"),
+        @ApiResponse(responseCode = "503", description = "Validation capacity exhausted, retry after the Retry-After header")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> validateIntersection(
             @Parameter(description = "Intersection configuration ID") @PathVariable String id,
-            @Parameter(description = "Ruleset to validate against") @RequestParam(defaultValue = "cyclist-arrow") String ruleset) {
+            @Parameter(description = "Ruleset to validate against") @RequestParam(defaultValue = "cyclist-arrow") String ruleset,
+            @Parameter(description = "Engine evaluating the ruleset: 'drools', or 'java' and 'drools-partitioned' (cyclist-arrow only)") @RequestParam(defaultValue = ValidationService.ENGINE_DROOLS) String engine,
+            @Parameter(description = "Include per-stage durations (ns) and allocated bytes") @RequestParam(defaultValue = "false") boolean timings) {
         
-        logger.info("Validating intersection {} with ruleset {}", id, ruleset);
+        logger.info("Validating intersection {} with ruleset {} on engine {}", id, ruleset, engine);
         
-        Map<String, Object> results = validationService.validateIntersection(id, ruleset);
+        // Reject invalid combinations before the configuration is read from storage
+        try {
+            validationService.checkEngine(ruleset, engine);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected validation of intersection {}: {}", id, e.getMessage());
+            Map<String, Object> error = new HashMap<>();
+            error.put("id", id);
+            error.put("ruleset", ruleset);
+            error.put("engine", engine);
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        Map<String, Object> results = validationService.validateIntersection(id, ruleset, engine, timings);
         
         // Check if there was an error loading the intersection
         if (results.containsKey("error") && results.get("error") != null) {
@@ -72,99 +91,14 @@ public class ValidationController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(results);
         }
         
-        // For cyclist-arrow ruleset, add a summary of the relevant connections
-        if ("cyclist-arrow".equals(ruleset)) {
-            enrichCyclistArrowResponse(results);
-        }
-        
         return ResponseEntity.ok(results);
     }
     
-    /**
-     * Enriches the response with a cyclist-arrow-specific summary
-     * 
-     * @param results The validation results to enrich
-     */
-    private void enrichCyclistArrowResponse(Map<String, Object> results) {
-        // Extract statistics if available
-        if (results.containsKey("results") && results.get("results") instanceof Map) {
-            Map<String, Object> formattedResults = (Map<String, Object>) results.get("results");
-            
-            if (formattedResults.containsKey("statistics") && formattedResults.containsKey("approaches")) {
-                // Prepare a text summary for GPT agent consumption
-                StringBuilder summary = new StringBuilder();
-                Map<String, Object> statistics = (Map<String, Object>) formattedResults.get("statistics");
-                
-                // Add summary statistics in German
-                summary.append("Zusammenfassung:\n");
-                summary.append("Gesamte Verbindungen: ").append(statistics.get("totalConnections")).append("\n");
-                summary.append("Fahrrad-Rechtsabbieger: ").append(statistics.get("cyclistRightTurns")).append("\n");
-                summary.append("Gültige Fahrrad-Rechtsabbieger: ").append(statistics.get("validCyclistRightTurns")).append("\n");
-                summary.append("Ungültige Fahrrad-Rechtsabbieger: ").append(statistics.get("invalidCyclistRightTurns")).append("\n\n");
-                
-                // Add details by approach in German
-                summary.append("Ergebnisse:\n\n");
-                
-                Map<String, List<Map<String, Object>>> approaches = 
-                        (Map<String, List<Map<String, Object>>>) formattedResults.get("approaches");
-                
-                for (Map.Entry<String, List<Map<String, Object>>> entry : approaches.entrySet()) {
-                    String approachDirection = entry.getKey();
-                    List<Map<String, Object>> connections = entry.getValue();
-                    
-                    summary.append("Zufahrt von ").append(approachDirection).append(":\n");
-                    
-                    // Group connections by whether they're cyclist right turns
-                    List<Map<String, Object>> cyclistRightTurns = connections.stream()
-                            .filter(conn -> Boolean.TRUE.equals(conn.get("isCyclistRightTurn")))
-                            .collect(Collectors.toList());
-                    
-                    List<Map<String, Object>> otherConnections = connections.stream()
-                            .filter(conn -> !Boolean.TRUE.equals(conn.get("isCyclistRightTurn")))
-                            .collect(Collectors.toList());
-                    
-                    // Output cyclist right turns in German
-                    if (!cyclistRightTurns.isEmpty()) {
-                        summary.append("  Fahrrad-Rechtsabbieger:\n");
-                        for (Map<String, Object> conn : cyclistRightTurns) {
-                            String direction = (String) conn.get("direction");
-                            boolean isValid = (boolean) conn.get("valid");
-                            
-                            summary.append("  - Verbindung ").append(conn.get("connectionId"))
-                                  .append(": ").append(direction)
-                                  .append(" (").append(isValid ? "GÜLTIG" : "UNGÜLTIG").append(")\n");
-                            
-                            // Add reasons if invalid
-                            if (!isValid && conn.containsKey("reasons")) {
-                                List<String> reasons = (List<String>) conn.get("reasons");
-                                for (String reason : reasons) {
-                                    summary.append("    * ").append(reason).append("\n");
-                                }
-                            }
-                        }
-                    } else {
-                        summary.append("  Keine Fahrrad-Rechtsabbieger von dieser Zufahrt\n");
-                    }
-                    
-                    // Output other connections (brief summary) in German
-                    if (!otherConnections.isEmpty()) {
-                        summary.append("  Andere Verbindungen: ").append(otherConnections.size())
-                               .append(" (nicht relevant für Grünpfeil-Beschilderung)\n");
-                    }
-                    
-                    summary.append("\n");
-                }
-                
-                // Add this text summary to the results
-                results.put("textSummary", summary.toString());
-            }
-        }
-    }
-    
     /**
      * Returns a summary of the intersection configuration without validation
      * 
      * @param id The ID of the intersection configuration
+     * @param conflictPoints The number of conflict points to list besides their counts (default: none)
      * @return Summary information about the intersection
      */
     @Operation(
@@ -174,14 +108,16 @@ public class ValidationController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved intersection summary"),
         @ApiResponse(responseCode = "404", description = "Intersection configuration not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Validation capacity exhausted, retry after the Retry-After header")
     })
     @GetMapping("/{id}/summary")
     public ResponseEntity<Map<String, Object>> getIntersectionSummary(
-            @Parameter(description = "Intersection configuration ID") @PathVariable String id) {
+            @Parameter(description = "Intersection configuration ID") @PathVariable String id,
+            @Parameter(description = "Number of conflict points to list, at most " + ValidationService.MAX_CONFLICT_POINTS) @RequestParam(defaultValue = "0") int conflictPoints) {
         logger.info("Getting summary for intersection {}", id);
         
-        Map<String, Object> summary = validationService.getIntersectionSummary(id);
+        Map<String, Object> summary = validationService.getIntersectionSummary(id, conflictPoints);
         
         // Check if there was an error loading the intersection
         if (summary.containsKey("error") && summary.get("error") != null) {
@@ -0,0 +1,81 @@
+package de.trafficvalidator.geometry;
+
+import de.trafficvalidator.model.Connection;
+
+/**
+ * A point where the trajectories of two connections meet.
+ * Coordinates are in cm relative to the intersection reference point.
+ */
+public final class ConflictPoint {
+
+    /**
+     * How the two trajectories meet
+     */
+    public enum Type {
+        CROSSING,   // Trajectories cross inside the intersection
+        MERGING     // Trajectories from different ingress lanes end on the same egress lane
+    }
+
+    private final Connection first;
+    private final Connection second;
+    private final Type type;
+    private final double x;
+    private final double y;
+
+    public ConflictPoint(Connection first, Connection second, Type type, double x, double y) {
+        this.first = first;
+        this.second = second;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+    }
+
+    public Connection getFirst() {
+        return first;
+    }
+
+    public Connection getSecond() {
+        return second;
+    }
+
+    /**
+     * Returns the connection this point conflicts with, seen from the given connection
+     */
+    public Connection getOther(Connection connection) {
+        return connection == first ? second : first;
+    }
+
+    public boolean involves(Connection connection) {
+        return connection == first || connection == second;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isCrossing() {
+        return type == Type.CROSSING;
+    }
+
+    public boolean isMerging() {
+        return type == Type.MERGING;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictPoint{" +
+                "type=" + type +
+                ", connections=" + first.getId() + "/" + second.getId() +
+                ", x=" + x +
+                ", y=" + y +
+                '}';
+    }
+}
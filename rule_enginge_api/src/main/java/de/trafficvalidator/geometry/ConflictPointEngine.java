@@ -0,0 +1,158 @@
+package de.trafficvalidator.geometry;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Computes the conflict points between all connections of an intersection.
+ * <p>
+ * Each connection is approximated by a straight trajectory from the stop line (or first node)
+ * of its ingress lane to the first node of its egress lane. A sweep over the trajectories sorted
+ * by their left x bound only tests pairs whose x ranges overlap, instead of every pair.
+ * Trajectories from the same ingress lane share their start point and are not reported.
+ * </p>
+ */
+public final class ConflictPointEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ConflictPointEngine.class);
+
+    private static final double EPSILON = 1e-9;
+
+    private ConflictPointEngine() {
+    }
+
+    /**
+     * Computes the conflict table for all connections of an intersection
+     */
+    public static ConflictTable compute(Intersection intersection) {
+        return compute(intersection.getConnections());
+    }
+
+    /**
+     * Computes the conflict table for the given connections
+     */
+    public static ConflictTable compute(Collection<Connection> connections) {
+        List<ConflictPoint> conflictPoints = new ArrayList<>();
+        forEach(connections, conflictPoints::add);
+        return new ConflictTable(conflictPoints);
+    }
+
+    /**
+     * Passes every conflict point of the given connections to the consumer without keeping them,
+     * for callers that only count or sample the points of intersections with very many of them
+     */
+    public static void forEach(Collection<Connection> connections, Consumer<ConflictPoint> consumer) {
+        List<Trajectory> trajectories = new ArrayList<>(connections.size());
+        for (Connection connection : connections) {
+            Trajectory trajectory = Trajectory.of(connection);
+            if (trajectory != null) {
+                trajectories.add(trajectory);
+            }
+        }
+
+        Trajectory[] sorted = trajectories.toArray(new Trajectory[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(t -> t.minX));
+
+        long count = 0;
+        List<Trajectory> active = new ArrayList<>();
+        for (Trajectory current : sorted) {
+            // Trajectories ending left of the current one can no longer meet anything
+            active.removeIf(t -> t.maxX < current.minX - EPSILON);
+
+            for (Trajectory other : active) {
+                if (other.maxY < current.minY - EPSILON || other.minY > current.maxY + EPSILON) {
+                    continue;
+                }
+                ConflictPoint point = conflictPoint(other, current);
+                if (point != null) {
+                    consumer.accept(point);
+                    count++;
+                }
+            }
+            active.add(current);
+        }
+
+        logger.debug("Computed {} conflict points for {} trajectories", count, sorted.length);
+    }
+
+    private static ConflictPoint conflictPoint(Trajectory a, Trajectory b) {
+        Connection first = a.connection;
+        Connection second = b.connection;
+        if (first.getIngressLane() == second.getIngressLane()) {
+            return null;
+        }
+        if (first.getEgressLane() == second.getEgressLane()) {
+            return new ConflictPoint(first, second, ConflictPoint.Type.MERGING, a.endX, a.endY);
+        }
+
+        double rx = a.endX - a.startX;
+        double ry = a.endY - a.startY;
+        double sx = b.endX - b.startX;
+        double sy = b.endY - b.startY;
+        double denominator = rx * sy - ry * sx;
+        if (Math.abs(denominator) < EPSILON) {
+            // Parallel or collinear trajectories do not cross at a single point
+            return null;
+        }
+
+        double qx = b.startX - a.startX;
+        double qy = b.startY - a.startY;
+        double t = (qx * sy - qy * sx) / denominator;
+        double u = (qx * ry - qy * rx) / denominator;
+        if (t < 0 || t > 1 || u < 0 || u > 1) {
+            return null;
+        }
+        return new ConflictPoint(first, second, ConflictPoint.Type.CROSSING, a.startX + t * rx, a.startY + t * ry);
+    }
+
+    /**
+     * Straight trajectory of a connection with its bounding box
+     */
+    private static final class Trajectory {
+        final Connection connection;
+        final double startX;
+        final double startY;
+        final double endX;
+        final double endY;
+        final double minX;
+        final double maxX;
+        final double minY;
+        final double maxY;
+
+        private Trajectory(Connection connection, Lane.NodePoint start, Lane.NodePoint end) {
+            this.connection = connection;
+            this.startX = start.getX();
+            this.startY = start.getY();
+            this.endX = end.getX();
+            this.endY = end.getY();
+            this.minX = Math.min(startX, endX);
+            this.maxX = Math.max(startX, endX);
+            this.minY = Math.min(startY, endY);
+            this.maxY = Math.max(startY, endY);
+        }
+
+        static Trajectory of(Connection connection) {
+            Lane ingress = connection.getIngressLane();
+            Lane egress = connection.getEgressLane();
+            if (ingress == null || egress == null) {
+                return null;
+            }
+
+            Lane.NodePoint start = ingress.getStopLineNode() != null ? ingress.getStopLineNode() : ingress.getFirstNode();
+            Lane.NodePoint end = egress.getFirstNode();
+            if (start == null || end == null) {
+                return null;
+            }
+            return new Trajectory(connection, start, end);
+        }
+    }
+}
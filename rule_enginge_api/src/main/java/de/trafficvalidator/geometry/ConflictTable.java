@@ -0,0 +1,81 @@
+package de.trafficvalidator.geometry;
+
+import de.trafficvalidator.model.Connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable table of all conflict points of an intersection, indexed by connection.
+ * Built once per intersection by {@link ConflictPointEngine} and shared by rule units and summaries.
+ */
+public final class ConflictTable {
+    private final List<ConflictPoint> conflictPoints;
+    private final Map<Connection, List<ConflictPoint>> byConnection;
+
+    ConflictTable(List<ConflictPoint> conflictPoints) {
+        this.conflictPoints = Collections.unmodifiableList(conflictPoints);
+
+        Map<Connection, List<ConflictPoint>> index = new HashMap<>();
+        for (ConflictPoint point : conflictPoints) {
+            index.computeIfAbsent(point.getFirst(), k -> new ArrayList<>()).add(point);
+            index.computeIfAbsent(point.getSecond(), k -> new ArrayList<>()).add(point);
+        }
+        index.replaceAll((connection, points) -> Collections.unmodifiableList(points));
+        this.byConnection = index;
+    }
+
+    /**
+     * Returns all conflict points of the intersection
+     */
+    public List<ConflictPoint> getConflictPoints() {
+        return conflictPoints;
+    }
+
+    /**
+     * Returns the conflict points on the trajectory of a connection
+     */
+    public List<ConflictPoint> getConflictsFor(Connection connection) {
+        return byConnection.getOrDefault(connection, Collections.emptyList());
+    }
+
+    /**
+     * Returns the connections whose trajectories cross the given connection
+     */
+    public List<Connection> getCrossingConnections(Connection connection) {
+        List<Connection> result = new ArrayList<>();
+        for (ConflictPoint point : getConflictsFor(connection)) {
+            if (point.isCrossing()) {
+                result.add(point.getOther(connection));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the trajectories of two connections cross or merge
+     */
+    public boolean conflicts(Connection first, Connection second) {
+        for (ConflictPoint point : getConflictsFor(first)) {
+            if (point.involves(second)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return conflictPoints.size();
+    }
+
+    public long getCrossingCount() {
+        return conflictPoints.stream().filter(ConflictPoint::isCrossing).count();
+    }
+
+    public long getMergingCount() {
+        return conflictPoints.stream().filter(ConflictPoint::isMerging).count();
+    }
+}
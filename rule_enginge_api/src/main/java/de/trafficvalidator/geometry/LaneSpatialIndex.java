@@ -0,0 +1,291 @@
+package de.trafficvalidator.geometry;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Uniform grid over the node segments of all lanes of an intersection.
+ * <p>
+ * Every lane segment is registered in each grid cell its bounding box touches. Queries only test
+ * the segments of the cells around the query geometry, so a conflict check costs a handful of
+ * segment tests instead of a pairwise comparison against every lane. The index is immutable once
+ * built and can be shared between threads and rule unit instances.
+ * </p>
+ * <p>
+ * Coordinates are in cm relative to the intersection reference point, as stored in {@link Lane}.
+ * </p>
+ */
+public final class LaneSpatialIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LaneSpatialIndex.class);
+
+    private static final double MIN_CELL_SIZE = 100.0;
+    private static final double EPSILON = 1e-9;
+
+    // Segment endpoints packed as x1, y1, x2, y2 per segment
+    private final double[] segments;
+    private final Lane[] segmentLanes;
+    private final int segmentCount;
+
+    // Grid in compressed row layout: segment IDs of cell c are cellSegments[cellStart[c] .. cellStart[c + 1])
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellSegments;
+
+    private LaneSpatialIndex(double[] segments, Lane[] segmentLanes, int segmentCount) {
+        this.segments = segments;
+        this.segmentLanes = segmentLanes;
+        this.segmentCount = segmentCount;
+
+        double loX = Double.MAX_VALUE, loY = Double.MAX_VALUE, hiX = -Double.MAX_VALUE, hiY = -Double.MAX_VALUE;
+        for (int i = 0; i < segmentCount * 4; i += 2) {
+            loX = Math.min(loX, segments[i]);
+            hiX = Math.max(hiX, segments[i]);
+            loY = Math.min(loY, segments[i + 1]);
+            hiY = Math.max(hiY, segments[i + 1]);
+        }
+        if (segmentCount == 0) {
+            loX = loY = hiX = hiY = 0;
+        }
+
+        // Aim for roughly one segment per cell
+        double area = Math.max(hiX - loX, MIN_CELL_SIZE) * Math.max(hiY - loY, MIN_CELL_SIZE);
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.sqrt(area / Math.max(1, segmentCount)));
+        this.minX = loX;
+        this.minY = loY;
+        this.columns = (int) ((hiX - loX) / cellSize) + 1;
+        this.rows = (int) ((hiY - loY) / cellSize) + 1;
+
+        int cellCount = columns * rows;
+        int[] counts = new int[cellCount + 1];
+        for (int s = 0; s < segmentCount; s++) {
+            int c0 = column(Math.min(x1(s), x2(s))), c1 = column(Math.max(x1(s), x2(s)));
+            int r0 = row(Math.min(y1(s), y2(s))), r1 = row(Math.max(y1(s), y2(s)));
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    counts[r * columns + c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < cellCount; c++) {
+            counts[c + 1] += counts[c];
+        }
+
+        this.cellStart = counts.clone();
+        this.cellSegments = new int[counts[cellCount]];
+        int[] fill = counts;
+        for (int s = 0; s < segmentCount; s++) {
+            int c0 = column(Math.min(x1(s), x2(s))), c1 = column(Math.max(x1(s), x2(s)));
+            int r0 = row(Math.min(y1(s), y2(s))), r1 = row(Math.max(y1(s), y2(s)));
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    cellSegments[fill[r * columns + c]++] = s;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index over all lanes of an intersection
+     */
+    public static LaneSpatialIndex build(Intersection intersection) {
+        return build(intersection.getLanes().values());
+    }
+
+    /**
+     * Builds the index over the given lanes
+     */
+    public static LaneSpatialIndex build(Collection<Lane> lanes) {
+        int segmentCount = 0;
+        for (Lane lane : lanes) {
+            segmentCount += Math.max(0, lane.getNodeCount() - 1);
+        }
+
+        double[] segments = new double[segmentCount * 4];
+        Lane[] segmentLanes = new Lane[segmentCount];
+        int s = 0;
+        for (Lane lane : lanes) {
+            double[] coordinates = lane.getCoordinates();
+            for (int i = 0; i + 3 < coordinates.length; i += 2) {
+                System.arraycopy(coordinates, i, segments, s * 4, 4);
+                segmentLanes[s++] = lane;
+            }
+        }
+
+        LaneSpatialIndex index = new LaneSpatialIndex(segments, segmentLanes, segmentCount);
+        logger.debug("Built lane spatial index with {} segments in {}x{} cells of {} cm",
+                segmentCount, index.columns, index.rows, index.cellSize);
+        return index;
+    }
+
+    /**
+     * Finds all lanes with a segment crossing or touching the segment (x1, y1) - (x2, y2)
+     */
+    public List<Lane> findLanesCrossing(double x1, double y1, double x2, double y2) {
+        Set<Lane> result = new LinkedHashSet<>();
+        int c0 = column(Math.min(x1, x2)), c1 = column(Math.max(x1, x2));
+        int r0 = row(Math.min(y1, y2)), r1 = row(Math.max(y1, y2));
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columns + c;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int s = cellSegments[i];
+                    if (!result.contains(segmentLanes[s])
+                            && segmentsIntersect(x1, y1, x2, y2, x1(s), y1(s), x2(s), y2(s))) {
+                        result.add(segmentLanes[s]);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Finds all other lanes whose polyline crosses or touches the polyline of the given lane
+     */
+    public List<Lane> findLanesCrossing(Lane lane) {
+        Set<Lane> result = new LinkedHashSet<>();
+        for (int i = 0; i + 1 < lane.getNodeCount(); i++) {
+            result.addAll(findLanesCrossing(lane.getX(i), lane.getY(i), lane.getX(i + 1), lane.getY(i + 1)));
+        }
+        result.remove(lane);
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Finds all lanes crossed by the path of a connection, approximated by the straight line from the
+     * ingress stop line (or first node) to the first node of the egress lane.
+     * The connection's own ingress and egress lanes are not reported.
+     */
+    public List<Lane> findLanesCrossing(Connection connection) {
+        Lane ingress = connection.getIngressLane();
+        Lane egress = connection.getEgressLane();
+        if (ingress == null || egress == null || ingress.getNodeCount() == 0 || egress.getNodeCount() == 0) {
+            return new ArrayList<>();
+        }
+
+        int start = Math.max(ingress.getStopLineIndex(), 0);
+        List<Lane> result = findLanesCrossing(ingress.getX(start), ingress.getY(start), egress.getX(0), egress.getY(0));
+        result.remove(ingress);
+        result.remove(egress);
+        return result;
+    }
+
+    /**
+     * Finds all lanes with a segment within the given radius (cm) of a point
+     */
+    public List<Lane> findLanesNear(double x, double y, double radius) {
+        Set<Lane> result = new LinkedHashSet<>();
+        double radiusSquared = radius * radius;
+        int c0 = column(x - radius), c1 = column(x + radius);
+        int r0 = row(y - radius), r1 = row(y + radius);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * columns + c;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int s = cellSegments[i];
+                    if (!result.contains(segmentLanes[s])
+                            && distanceSquaredToSegment(x, y, x1(s), y1(s), x2(s), y2(s)) <= radiusSquared) {
+                        result.add(segmentLanes[s]);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Finds all lanes near the stop line (or first node) of the given lane, excluding the lane itself
+     */
+    public List<Lane> findLanesNearStopLine(Lane lane, double radius) {
+        if (lane.getNodeCount() == 0) {
+            return new ArrayList<>();
+        }
+        int stopLine = Math.max(lane.getStopLineIndex(), 0);
+        List<Lane> result = findLanesNear(lane.getX(stopLine), lane.getY(stopLine), radius);
+        result.remove(lane);
+        return result;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Tests whether two segments intersect, including touching endpoints and collinear overlaps
+     */
+    public static boolean segmentsIntersect(double ax, double ay, double bx, double by,
+                                            double cx, double cy, double dx, double dy) {
+        double d1 = cross(cx, cy, dx, dy, ax, ay);
+        double d2 = cross(cx, cy, dx, dy, bx, by);
+        double d3 = cross(ax, ay, bx, by, cx, cy);
+        double d4 = cross(ax, ay, bx, by, dx, dy);
+
+        if (((d1 > EPSILON && d2 < -EPSILON) || (d1 < -EPSILON && d2 > EPSILON))
+                && ((d3 > EPSILON && d4 < -EPSILON) || (d3 < -EPSILON && d4 > EPSILON))) {
+            return true;
+        }
+
+        return (Math.abs(d1) <= EPSILON && onSegment(cx, cy, dx, dy, ax, ay))
+                || (Math.abs(d2) <= EPSILON && onSegment(cx, cy, dx, dy, bx, by))
+                || (Math.abs(d3) <= EPSILON && onSegment(ax, ay, bx, by, cx, cy))
+                || (Math.abs(d4) <= EPSILON && onSegment(ax, ay, bx, by, dx, dy));
+    }
+
+    private static double cross(double ox, double oy, double ax, double ay, double bx, double by) {
+        return (ax - ox) * (by - oy) - (ay - oy) * (bx - ox);
+    }
+
+    private static boolean onSegment(double ax, double ay, double bx, double by, double px, double py) {
+        return px >= Math.min(ax, bx) - EPSILON && px <= Math.max(ax, bx) + EPSILON
+                && py >= Math.min(ay, by) - EPSILON && py <= Math.max(ay, by) + EPSILON;
+    }
+
+    private static double distanceSquaredToSegment(double px, double py,
+                                                   double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double nearestX = ax + t * dx - px;
+        double nearestY = ay + t * dy - py;
+        return nearestX * nearestX + nearestY * nearestY;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - minX) / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellSize)));
+    }
+
+    private double x1(int s) {
+        return segments[s * 4];
+    }
+
+    private double y1(int s) {
+        return segments[s * 4 + 1];
+    }
+
+    private double x2(int s) {
+        return segments[s * 4 + 2];
+    }
+
+    private double y2(int s) {
+        return segments[s * 4 + 3];
+    }
+}
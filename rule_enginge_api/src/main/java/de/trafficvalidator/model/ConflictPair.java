@@ -0,0 +1,34 @@
+package de.trafficvalidator.model;
+
+/**
+ * Represents a cyclist right turn together with a left turn of the opposing traffic that shares
+ * its egress lane, see {@link Connection#isConflictingLeftTurn(Connection)}.
+ */
+public final class ConflictPair {
+    private final Connection rightTurn;
+    private final Connection leftTurn;
+
+    public ConflictPair(Connection rightTurn, Connection leftTurn) {
+        this.rightTurn = rightTurn;
+        this.leftTurn = leftTurn;
+    }
+
+    /**
+     * Gets the cyclist right turn
+     */
+    public Connection getRightTurn() {
+        return rightTurn;
+    }
+
+    /**
+     * Gets the conflicting left turn of the opposing traffic
+     */
+    public Connection getLeftTurn() {
+        return leftTurn;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictPair{rightTurn=" + rightTurn.getId() + ", leftTurn=" + leftTurn.getId() + "}";
+    }
+}
@@ -1,12 +1,22 @@
 package de.trafficvalidator.model;
 
+import de.trafficvalidator.util.DsrcBitString;
+
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Represents a connection between an ingress and egress lane.
  * Connections are controlled by signal groups and define possible maneuvers.
+ * <p>
+ * The physical signal group IDs are kept in a primitive array with a bit set for membership
+ * checks, and the membership accessors return read-only views instead of copies.
+ * </p>
  */
 public class Connection {
     public int getLogicalSignalGroupId() {
@@ -32,25 +42,28 @@ public class Connection {
     private Lane ingressLane;
     private Lane egressLane;
     private SignalGroup signalGroup;             // Reference to physical signal group (German "Signalgruppe", VT)
-    private List<SignalGroup> signalGroups = new ArrayList<>();  // Multiple physical signal groups
+    private final List<SignalGroup> signalGroups = new ArrayList<>();  // Multiple physical signal groups
+    private final List<SignalGroup> signalGroupsView = Collections.unmodifiableList(signalGroups);
     private int connectionId;                    // From MAPEM (connectionID)
     private int physicalSignalGroupId;           // VT from TrafficStream (physical signal group)
     private int logicalSignalGroupId;           // VT from TrafficStream (physical signal group)
-    private List<Integer> physicalSignalGroupIds = new ArrayList<>();  // Multiple physical signal group IDs (VT)
+    private int[] physicalSignalGroupIds = new int[0];  // Multiple physical signal group IDs (VT)
+    private final BitSet physicalSignalGroupIdSet = new BitSet();  // Membership of the non-negative IDs
+    private final List<Integer> physicalSignalGroupIdsView = new AbstractList<>() {
+        @Override
+        public Integer get(int index) {
+            return physicalSignalGroupIds[index];
+        }
+
+        @Override
+        public int size() {
+            return physicalSignalGroupIds.length;
+        }
+    };
     private ManeuverType maneuverType = ManeuverType.UNKNOWN; // Type of maneuver
 
-    // Maneuver types decoded from DSRC:maneuver binary string
-    private boolean maneuverStraightAllowed;     // Bit 0
-    private boolean maneuverLeftAllowed;         // Bit 1
-    private boolean maneuverRightAllowed;        // Bit 2
-    private boolean maneuverUTurnAllowed;        // Bit 3
-    private boolean maneuverLeftTurnOnRedAllowed;  // Bit 4
-    private boolean maneuverRightTurnOnRedAllowed; // Bit 5
-    private boolean maneuverLaneChangeAllowed;     // Bit 6
-    private boolean maneuverNoStoppingAllowed;     // Bit 7
-    private boolean yieldAllwaysRequired;          // Bit 8
-    private boolean goWithHalt;                    // Bit 9
-    private boolean caution;                       // Bit 10
+    // AllowedManeuvers decoded from the DSRC:maneuver bit string, see the DsrcBitString.MANEUVER_* bits
+    private short maneuvers;
 
     /**
      * Creates a connection between ingress and egress lanes
@@ -79,86 +92,70 @@ public class Connection {
             return;
         }
 
-        // Remove any spaces or underscores
-        maneuvers = maneuvers.replaceAll("[\\s_]", "");
-
-        // Check each bit position (as described in the standard)
-        if (maneuvers.length() >= 1 && maneuvers.charAt(0) == '1') {
-            maneuverStraightAllowed = true;
-            maneuverType = ManeuverType.STRAIGHT;
-        }
-
-        if (maneuvers.length() >= 2 && maneuvers.charAt(1) == '1') {
-            maneuverLeftAllowed = true;
-            maneuverType = ManeuverType.LEFT_TURN;
-        }
+        setManeuvers(DsrcBitString.decode(maneuvers));
+    }
 
-        if (maneuvers.length() >= 3 && maneuvers.charAt(2) == '1') {
-            maneuverRightAllowed = true;
-            maneuverType = ManeuverType.RIGHT_TURN;
-        }
+    /**
+     * Sets the maneuver flags from a decoded AllowedManeuvers mask.
+     * The maneuver type is taken from the last set bit of straight, left, right and U-turn
+     * and left unchanged if none of them is set.
+     */
+    public void setManeuvers(int maneuvers) {
+        this.maneuvers = (short) maneuvers;
 
-        if (maneuvers.length() >= 4 && maneuvers.charAt(3) == '1') {
-            maneuverUTurnAllowed = true;
+        if (DsrcBitString.has(maneuvers, DsrcBitString.MANEUVER_U_TURN)) {
             maneuverType = ManeuverType.U_TURN;
+        } else if (DsrcBitString.has(maneuvers, DsrcBitString.MANEUVER_RIGHT)) {
+            maneuverType = ManeuverType.RIGHT_TURN;
+        } else if (DsrcBitString.has(maneuvers, DsrcBitString.MANEUVER_LEFT)) {
+            maneuverType = ManeuverType.LEFT_TURN;
+        } else if (DsrcBitString.has(maneuvers, DsrcBitString.MANEUVER_STRAIGHT)) {
+            maneuverType = ManeuverType.STRAIGHT;
         }
+    }
 
-        // Optional: Parse additional maneuver information
-        if (maneuvers.length() >= 5 && maneuvers.charAt(4) == '1') {
-            maneuverLeftTurnOnRedAllowed = true;
-        }
-
-        if (maneuvers.length() >= 6 && maneuvers.charAt(5) == '1') {
-            maneuverRightTurnOnRedAllowed = true;
-        }
-
-        if (maneuvers.length() >= 7 && maneuvers.charAt(6) == '1') {
-            maneuverLaneChangeAllowed = true;
-        }
-
-        if (maneuvers.length() >= 8 && maneuvers.charAt(7) == '1') {
-            maneuverNoStoppingAllowed = true;
-        }
-
-        if (maneuvers.length() >= 9 && maneuvers.charAt(8) == '1') {
-            yieldAllwaysRequired = true;
-        }
+    /**
+     * Gets the AllowedManeuvers mask, see the {@code MANEUVER_*} bits of {@link DsrcBitString}
+     */
+    public int getManeuvers() {
+        // Stored in a short, mask so bit 15 does not sign-extend
+        return maneuvers & 0xFFFF;
+    }
 
-        if (maneuvers.length() >= 10 && maneuvers.charAt(9) == '1') {
-            goWithHalt = true;
-        }
+    private boolean hasManeuver(int maneuver) {
+        return (maneuvers & maneuver) != 0;
+    }
 
-        if (maneuvers.length() >= 11 && maneuvers.charAt(10) == '1') {
-            caution = true;
-        }
+    private void setManeuver(int maneuver, boolean allowed) {
+        maneuvers = (short) (allowed ? maneuvers | maneuver : maneuvers & ~maneuver);
     }
 
     /**
      * Determines if this connection represents a left turn
      */
     public boolean isLeftTurn() {
-        return maneuverLeftAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_LEFT);
     }
 
     /**
      * Determines if this connection represents a right turn
      */
     public boolean isRightTurn() {
-        return maneuverRightAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_RIGHT);
     }
 
     /**
      * Determines if this connection represents a straight path
      */
     public boolean isStraight() {
-        return maneuverStraightAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_STRAIGHT);
     }
 
     /**
      * Determines if this connection represents a U-turn
      */
     public boolean isUTurn() {
-        return maneuverUTurnAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_U_TURN);
     }
 
     /**
@@ -275,7 +272,7 @@ public class Connection {
      */
     @Deprecated
     public void setLeftTurn(boolean leftTurn) {
-        maneuverLeftAllowed = leftTurn;
+        setManeuver(DsrcBitString.MANEUVER_LEFT, leftTurn);
         if (leftTurn) {
             maneuverType = ManeuverType.LEFT_TURN;
         }
@@ -286,7 +283,7 @@ public class Connection {
      */
     @Deprecated
     public void setStraight(boolean straight) {
-        maneuverStraightAllowed = straight;
+        setManeuver(DsrcBitString.MANEUVER_STRAIGHT, straight);
         if (straight) {
             maneuverType = ManeuverType.STRAIGHT;
         }
@@ -297,7 +294,7 @@ public class Connection {
      */
     @Deprecated
     public void setRightTurn(boolean rightTurn) {
-        maneuverRightAllowed = rightTurn;
+        setManeuver(DsrcBitString.MANEUVER_RIGHT, rightTurn);
         if (rightTurn) {
             maneuverType = ManeuverType.RIGHT_TURN;
         }
@@ -308,38 +305,38 @@ public class Connection {
      */
     @Deprecated
     public void setUTurn(boolean uTurn) {
-        maneuverUTurnAllowed = uTurn;
+        setManeuver(DsrcBitString.MANEUVER_U_TURN, uTurn);
         if (uTurn) {
             maneuverType = ManeuverType.U_TURN;
         }
     }
 
     public boolean isManeuverLeftTurnOnRedAllowed() {
-        return maneuverLeftTurnOnRedAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_LEFT_TURN_ON_RED);
     }
 
     public boolean isManeuverRightTurnOnRedAllowed() {
-        return maneuverRightTurnOnRedAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_RIGHT_TURN_ON_RED);
     }
 
     public boolean isManeuverLaneChangeAllowed() {
-        return maneuverLaneChangeAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_LANE_CHANGE);
     }
 
     public boolean isManeuverNoStoppingAllowed() {
-        return maneuverNoStoppingAllowed;
+        return hasManeuver(DsrcBitString.MANEUVER_NO_STOPPING);
     }
 
     public boolean isYieldAllwaysRequired() {
-        return yieldAllwaysRequired;
+        return hasManeuver(DsrcBitString.MANEUVER_YIELD_ALWAYS_REQUIRED);
     }
 
     public boolean isGoWithHalt() {
-        return goWithHalt;
+        return hasManeuver(DsrcBitString.MANEUVER_GO_WITH_HALT);
     }
 
     public boolean isCaution() {
-        return caution;
+        return hasManeuver(DsrcBitString.MANEUVER_CAUTION);
     }
 
     /**
@@ -416,18 +413,37 @@ public class Connection {
             this.physicalSignalGroupId = physicalSignalGroupId;
         }
         
-        // Add to list if not already present
-        if (!physicalSignalGroupIds.contains(physicalSignalGroupId)) {
-            physicalSignalGroupIds.add(physicalSignalGroupId);
+        // Add to the array if not already present
+        if (!hasPhysicalSignalGroupId(physicalSignalGroupId)) {
+            physicalSignalGroupIds = Arrays.copyOf(physicalSignalGroupIds, physicalSignalGroupIds.length + 1);
+            physicalSignalGroupIds[physicalSignalGroupIds.length - 1] = physicalSignalGroupId;
+            if (physicalSignalGroupId >= 0) {
+                physicalSignalGroupIdSet.set(physicalSignalGroupId);
+            }
         }
     }
 
     /**
      * Gets the list of all physical signal group IDs (VT) for this connection
-     * @return List of physical signal group IDs
+     * @return Read-only view of the physical signal group IDs
      */
     public List<Integer> getPhysicalSignalGroupIds() {
-        return new ArrayList<>(physicalSignalGroupIds);
+        return physicalSignalGroupIdsView;
+    }
+
+    /**
+     * Gets the number of physical signal group IDs (VT) for this connection
+     */
+    public int getPhysicalSignalGroupIdCount() {
+        return physicalSignalGroupIds.length;
+    }
+
+    /**
+     * Gets a physical signal group ID (VT) by its position, without boxing
+     * @param index Position in the order the IDs were added
+     */
+    public int getPhysicalSignalGroupId(int index) {
+        return physicalSignalGroupIds[index];
     }
 
     /**
@@ -436,7 +452,15 @@ public class Connection {
      * @return true if this connection has the specified physical signal group ID
      */
     public boolean hasPhysicalSignalGroupId(int physicalSignalGroupId) {
-        return this.physicalSignalGroupIds.contains(physicalSignalGroupId);
+        if (physicalSignalGroupId >= 0) {
+            return physicalSignalGroupIdSet.get(physicalSignalGroupId);
+        }
+        for (int id : physicalSignalGroupIds) {
+            if (id == physicalSignalGroupId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -457,10 +481,10 @@ public class Connection {
 
     /**
      * Gets all physical signal groups (German "Signalgruppe") for this connection
-     * @return List of physical signal groups
+     * @return Read-only view of the physical signal groups
      */
     public List<SignalGroup> getSignalGroups() {
-        return new ArrayList<>(signalGroups);
+        return signalGroupsView;
     }
 
     /**
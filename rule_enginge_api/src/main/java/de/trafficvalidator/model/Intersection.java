@@ -1,6 +1,11 @@
 package de.trafficvalidator.model;
 
+import de.trafficvalidator.geometry.ConflictPointEngine;
+import de.trafficvalidator.geometry.ConflictTable;
+import de.trafficvalidator.geometry.LaneSpatialIndex;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +35,11 @@ public class Intersection {
     private List<Connection> connections = new ArrayList<>();
     private List<TrafficStream> trafficStreams = new ArrayList<>();
 
+    // Built on first use, once the lane geometry is complete
+    private volatile LaneSpatialIndex laneSpatialIndex;
+    private volatile ConflictTable conflictTable;
+    private volatile List<ConflictPair> conflictPairs;
+
     public Intersection(int id, int regionId) {
         this.id = id;
         this.regionId = regionId;
@@ -65,6 +75,73 @@ public class Intersection {
         return hasCenterCalculated;
     }
 
+    /**
+     * Gets the spatial index over the lane geometry, building it on first access.
+     * Lanes must not be added after the index has been requested.
+     */
+    public LaneSpatialIndex getLaneSpatialIndex() {
+        LaneSpatialIndex index = laneSpatialIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = laneSpatialIndex;
+                if (index == null) {
+                    index = LaneSpatialIndex.build(this);
+                    laneSpatialIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the conflict points between all connection trajectories, computing them on first access.
+     * Lanes and connections must not be added after the table has been requested.
+     */
+    public ConflictTable getConflictTable() {
+        ConflictTable table = conflictTable;
+        if (table == null) {
+            synchronized (this) {
+                table = conflictTable;
+                if (table == null) {
+                    table = ConflictPointEngine.compute(this);
+                    conflictTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the conflicting left turns of the opposing traffic for every cyclist right turn,
+     * computing them on first access. The directions of the lanes must be calculated and
+     * connections must not be added after the pairs have been requested.
+     */
+    public List<ConflictPair> getConflictPairs() {
+        List<ConflictPair> pairs = conflictPairs;
+        if (pairs == null) {
+            synchronized (this) {
+                pairs = conflictPairs;
+                if (pairs == null) {
+                    pairs = new ArrayList<>();
+                    for (Connection rightTurn : connections) {
+                        if (!rightTurn.isCyclistRightTurn()) {
+                            continue;
+                        }
+                        // Conflicting left turns share the egress lane, so only its incoming connections are candidates
+                        for (Connection leftTurn : rightTurn.getEgressLane().getIncomingConnections()) {
+                            if (leftTurn.isConflictingLeftTurn(rightTurn)) {
+                                pairs.add(new ConflictPair(rightTurn, leftTurn));
+                            }
+                        }
+                    }
+                    pairs = Collections.unmodifiableList(pairs);
+                    conflictPairs = pairs;
+                }
+            }
+        }
+        return pairs;
+    }
+
     /**
      * Finds all cyclist right-turn connections at this intersection
      */
@@ -111,9 +188,13 @@ public class Intersection {
      * @return List of connections controlled by the specified physical signal group
      */
     public List<Connection> getConnectionsByPhysicalSignalGroupId(int physicalSignalGroupId) {
-        return connections.stream()
-                .filter(conn -> conn.hasPhysicalSignalGroupId(physicalSignalGroupId))
-                .collect(Collectors.toList());
+        List<Connection> result = new ArrayList<>();
+        for (Connection conn : connections) {
+            if (conn.hasPhysicalSignalGroupId(physicalSignalGroupId)) {
+                result.add(conn);
+            }
+        }
+        return result;
     }
 
     /**
@@ -279,6 +360,16 @@ public class Intersection {
         return physicalSignalGroups;
     }
 
+    /**
+     * Classifies all physical signal groups once their types and connections are linked,
+     * see {@link SignalGroup#classify()}
+     */
+    public void classifySignalGroups() {
+        for (SignalGroup signalGroup : physicalSignalGroups.values()) {
+            signalGroup.classify();
+        }
+    }
+
     public List<Connection> getConnections() {
         return connections;
     }
@@ -1,6 +1,8 @@
 package de.trafficvalidator.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -21,6 +23,7 @@ public class Lane {
     private boolean isVehicleLane;
     private boolean isBikeLane;
     private boolean isCrosswalk;
+    private short laneTypeAttributes;     // Bit string of the lane type choice (e.g. LaneAttributes-Vehicle)
 
     // Shared with attributes (traffic types allowed on this lane)
     private boolean allowsIndividualMotorizedVehicles;  // Cars
@@ -32,10 +35,13 @@ public class Lane {
     private List<Connection> incomingConnections = new ArrayList<>();
     private List<Connection> outgoingConnections = new ArrayList<>();
 
-    // Coordinates for direction calculation
-    private List<NodePoint> nodeList = new ArrayList<>();
+    // Node coordinates packed as x0, y0, x1, y1, ... in cm relative to the intersection reference point
+    private double[] coordinates = new double[8];
+    private int nodeCount;
+    private int stopLineIndex = -1;         // Index of the first stop line node, -1 if none
+    private double length;                  // Polyline length in cm
+    private double bearing;                 // Compass bearing from first to last node in degrees
 
-    // Add these fields to the Lane class
     private double stopLineX;
     private double stopLineY;
     private boolean hasStopLine;
@@ -163,6 +169,19 @@ public class Lane {
         isCrosswalk = crosswalk;
     }
 
+    /**
+     * Gets the decoded bit string of the lane type choice, whose bits depend on the lane type
+     * (LaneAttributes-Vehicle, -Bike, -Crosswalk)
+     */
+    public int getLaneTypeAttributes() {
+        // Stored in a short, mask so bit 15 does not sign-extend
+        return laneTypeAttributes & 0xFFFF;
+    }
+
+    public void setLaneTypeAttributes(int laneTypeAttributes) {
+        this.laneTypeAttributes = (short) laneTypeAttributes;
+    }
+
     public boolean allowsIndividualMotorizedVehicles() {
         return allowsIndividualMotorizedVehicles;
     }
@@ -211,32 +230,116 @@ public class Lane {
         this.outgoingConnections.add(connection);
     }
 
+    /**
+     * Returns the nodes as point objects. The list is created on each call,
+     * geometry code should use {@link #getCoordinates()} or {@link #getX(int)} / {@link #getY(int)} instead.
+     */
     public List<NodePoint> getNodeList() {
-        return nodeList;
+        List<NodePoint> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new NodePoint(getX(i), getY(i), i == stopLineIndex));
+        }
+        return Collections.unmodifiableList(nodes);
     }
 
+    /**
+     * Appends a node and updates stop line index, length and bearing of the lane
+     */
     public void addNode(double x, double y, boolean isStopLine) {
-        this.nodeList.add(new NodePoint(x, y, isStopLine));
+        if (coordinates.length < (nodeCount + 1) * 2) {
+            coordinates = Arrays.copyOf(coordinates, Math.max(8, coordinates.length * 2));
+        }
+        coordinates[nodeCount * 2] = x;
+        coordinates[nodeCount * 2 + 1] = y;
+
+        if (nodeCount > 0) {
+            length += Math.hypot(x - getX(nodeCount - 1), y - getY(nodeCount - 1));
+            bearing = compassBearing(x - getX(0), y - getY(0));
+        }
+
+        if (isStopLine && stopLineIndex < 0) {
+            stopLineIndex = nodeCount;
+            setStopLinePosition(x, y);
+        }
+        nodeCount++;
+    }
+
+    /**
+     * Shrinks the node storage to the node count, called once all nodes of the lane are added
+     */
+    public void trimNodes() {
+        if (coordinates.length != nodeCount * 2) {
+            coordinates = Arrays.copyOf(coordinates, nodeCount * 2);
+        }
+    }
+
+    /**
+     * Returns the node coordinates packed as x0, y0, x1, y1, ... (length is 2 * node count).
+     * Once the nodes are trimmed, see {@link #trimNodes()}, the returned array is the lane's own
+     * storage and must not be modified; before that it is a copy.
+     */
+    public double[] getCoordinates() {
+        return coordinates.length == nodeCount * 2 ? coordinates : Arrays.copyOf(coordinates, nodeCount * 2);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public double getX(int nodeIndex) {
+        return coordinates[nodeIndex * 2];
+    }
+
+    public double getY(int nodeIndex) {
+        return coordinates[nodeIndex * 2 + 1];
+    }
+
+    /**
+     * Returns the index of the first stop line node, or -1 if the lane has none
+     */
+    public int getStopLineIndex() {
+        return stopLineIndex;
+    }
+
+    /**
+     * Returns the polyline length in cm
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the compass bearing (0 = north, clockwise) from the first to the last node in degrees.
+     * Ingress lanes are drawn from the stop line upstream, so their bearing points away from the intersection.
+     */
+    public double getBearing() {
+        return bearing;
+    }
+
+    private static double compassBearing(double dx, double dy) {
+        double angle = 90 - Math.toDegrees(Math.atan2(dy, dx));
+        return angle < 0 ? angle + 360 : angle % 360;
     }
 
     /**
      * Returns first node coordinates (useful for direction calculations)
      */
     public NodePoint getFirstNode() {
-        if (nodeList.isEmpty()) {
+        if (nodeCount == 0) {
             return null;
         }
-        return nodeList.get(0);
+        return new NodePoint(getX(0), getY(0), stopLineIndex == 0);
     }
 
     /**
      * Returns last node coordinates (useful for direction calculations)
      */
     public NodePoint getLastNode() {
-        if (nodeList.isEmpty()) {
+        if (nodeCount == 0) {
             return null;
         }
-        return nodeList.get(nodeList.size() - 1);
+        int last = nodeCount - 1;
+        return new NodePoint(getX(last), getY(last), stopLineIndex == last);
     }
 
     /**
@@ -327,15 +430,12 @@ public class Lane {
      * Gets the stop line node if it exists
      */
     public NodePoint getStopLineNode() {
-        for (NodePoint node : nodeList) {
-            if (node.isStopLine()) {
-                return node;
-            }
+        if (stopLineIndex < 0) {
+            return null;
         }
-        return null;
+        return new NodePoint(getX(stopLineIndex), getY(stopLineIndex), true);
     }
 
-    // Add these methods to the Lane class
     public void setStopLinePosition(double x, double y) {
         this.stopLineX = x;
         this.stopLineY = y;
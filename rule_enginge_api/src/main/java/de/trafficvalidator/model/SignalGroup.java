@@ -1,6 +1,10 @@
 package de.trafficvalidator.model;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,12 +14,33 @@ import java.util.List;
  * Note: This represents a PHYSICAL signal group (VT in MAPEM XML), not a logical DSRC:signalGroup.
  * In German traffic engineering, a physical signal group ("Signalgruppe") corresponds to one or 
  * more actual signal heads ("Signalgeber") that control traffic movements at an intersection.
+ * 
+ * The derived properties used by the rules (left turns only, diagonal arrow, bicycle signal, right
+ * turn arrow, directional arrows) are computed once by {@link #classify()} into a bitmask, so the
+ * rule constraints only read a field. Changing the type or the controlled connections invalidates
+ * the classification; it is recomputed on the next access.
  */
 public class SignalGroup {
+    private static final Logger logger = LoggerFactory.getLogger(SignalGroup.class);
+
+    /** Controls exclusively left turns with a full signal (Linksabbieger-Vollscheibe) */
+    public static final int LEFT_TURN_ONLY = 1;
+    /** Diagonal green arrow for left turns (DN) */
+    public static final int DIAGONAL_LEFT_TURN = 1 << 1;
+    /** Bicycle signal (RD) */
+    public static final int BICYCLE = 1 << 2;
+    /** Additional right turn arrow (RA) */
+    public static final int RIGHT_TURN_ARROW = 1 << 3;
+    /** Any directional arrow: diagonal, right turn arrow or left turns only */
+    public static final int DIRECTIONAL = 1 << 4;
+
+    private static final int UNCLASSIFIED = -1;
+
     private int physicalSignalGroupId;         // Physical signal group ID (vt) from STG file
     private String name;                       // Name like "FV01"
     private SignalGroupType type;              // Type like FV, DN, RD, FG
     private List<Connection> controlledConnections = new ArrayList<>();
+    private volatile int classification = UNCLASSIFIED;
 
     /**
      * Signal group types as described in the specification
@@ -50,25 +75,93 @@ public class SignalGroup {
         }
     }
 
+    /**
+     * Computes and stores the classification bitmask from the type and the controlled connections.
+     * Called once all connections are linked; the accessors below only read the stored bitmask.
+     *
+     * @return The classification bitmask
+     */
+    public int classify() {
+        int flags = 0;
+        if (type == SignalGroupType.DN) {
+            flags |= DIAGONAL_LEFT_TURN;
+        }
+        if (type == SignalGroupType.RD) {
+            flags |= BICYCLE;
+        }
+        if (type == SignalGroupType.RA) {
+            flags |= RIGHT_TURN_ARROW;
+        }
+        if (controlsOnlyLeftTurns()) {
+            flags |= LEFT_TURN_ONLY;
+        }
+        if ((flags & (DIAGONAL_LEFT_TURN | RIGHT_TURN_ARROW | LEFT_TURN_ONLY)) != 0) {
+            flags |= DIRECTIONAL;
+        }
+        classification = flags;
+        return flags;
+    }
+
+    /**
+     * Checks if the signal group is a Linksabbieger-Vollscheibe: typed LA, or without type
+     * information a vehicle signal (FV) controlling exclusively left turns.
+     * Other types controlling only left turns are not classified as such and are logged.
+     */
+    private boolean controlsOnlyLeftTurns() {
+        if (type == SignalGroupType.LA) {
+            return true;
+        } else if (type == SignalGroupType.DN) {
+            return false;
+        }
+
+        for (Connection connection : controlledConnections) {
+            if (!connection.isLeftTurn()) {
+                return false;
+            }
+        }
+
+        if (type != SignalGroupType.FV) {
+            logger.warn("Signal group {} of type {} controls only left turns, not treating it as Linksabbieger-Vollscheibe",
+                    physicalSignalGroupId, type);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the classification bitmask, classifying the signal group first if necessary
+     */
+    public int getClassification() {
+        int flags = classification;
+        return flags != UNCLASSIFIED ? flags : classify();
+    }
+
+    /**
+     * Checks if all given classification flags are set
+     */
+    public boolean hasClassification(int flags) {
+        return (getClassification() & flags) == flags;
+    }
+
     /**
      * Checks if this signal group is for diagonal left turn
      */
     public boolean isDiagonalLeftTurn() {
-        return type == SignalGroupType.DN;
+        return hasClassification(DIAGONAL_LEFT_TURN);
     }
 
     /**
      * Checks if this signal group is for bicycle traffic
      */
     public boolean isBicycleSignal() {
-        return type == SignalGroupType.RD;
+        return hasClassification(BICYCLE);
     }
 
     /**
      * Checks if this signal group is a right turn arrow
      */
     public boolean isAdditionalRightTurnArrow() {
-        return type == SignalGroupType.RA;
+        return hasClassification(RIGHT_TURN_ARROW);
     }
 
     /**
@@ -77,32 +170,28 @@ public class SignalGroup {
      * and signal groups that exclusively control left turns
      */
     public boolean hasDirectionalArrows() {
-        return isDiagonalLeftTurn() || isAdditionalRightTurnArrow() || istLinksabbiegerVollscheibe();
+        return hasClassification(DIRECTIONAL);
+    }
+
+    /**
+     * Property form of {@link #hasDirectionalArrows()} for rule constraints
+     */
+    public boolean isDirectional() {
+        return hasClassification(DIRECTIONAL);
     }
 
     /**
      * Checks if this signal group controls exclusively left turn connections and is Vollscheibe
      */
     public boolean istLinksabbiegerVollscheibe() {
-        // Check standard Types
-        if (type == SignalGroupType.LA) {
-            return true;
-        } else if (type == SignalGroupType.DN) {
-            return false;
-        }
-
-        // Fallback without Info about type if vollscheibe has only left turns and is FV
-        for (Connection connection : controlledConnections) {
-            if (!connection.isLeftTurn()) {
-                return false;
-            }
-        }
+        return hasClassification(LEFT_TURN_ONLY);
+    }
 
-        if (type == SignalGroupType.FV) {
-            return true;
-        } else {
-            throw new IllegalArgumentException("Unknown signal group type configured controlling only left turns: " + type);
-        }
+    /**
+     * Property form of {@link #istLinksabbiegerVollscheibe()} for rule constraints
+     */
+    public boolean isLeftTurnOnly() {
+        return hasClassification(LEFT_TURN_ONLY);
     }
 
     // Getters and Setters
@@ -129,10 +218,14 @@ public class SignalGroup {
 
     public void setType(SignalGroupType type) {
         this.type = type;
+        this.classification = UNCLASSIFIED;
     }
 
+    /**
+     * Returns the controlled connections as a read-only view; use {@link #addControlledConnection(Connection)} to add one
+     */
     public List<Connection> getControlledConnections() {
-        return controlledConnections;
+        return Collections.unmodifiableList(controlledConnections);
     }
 
     /**
@@ -142,6 +235,7 @@ public class SignalGroup {
     public void addControlledConnection(Connection connection) {
         if (connection != null && !controlledConnections.contains(connection)) {
             this.controlledConnections.add(connection);
+            this.classification = UNCLASSIFIED;
             connection.addSignalGroup(this);
         }
     }
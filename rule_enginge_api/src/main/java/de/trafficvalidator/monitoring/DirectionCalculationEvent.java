@@ -0,0 +1,15 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.trafficvalidator.DirectionCalculation")
+@Label("Direction Calculation")
+@Description("Cardinal direction calculation for all approaches")
+public class DirectionCalculationEvent extends ValidationPhaseEvent {
+
+    public DirectionCalculationEvent(String intersectionId, String ruleset) {
+        super(intersectionId, ruleset);
+    }
+}
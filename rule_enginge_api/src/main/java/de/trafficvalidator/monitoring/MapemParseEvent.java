@@ -0,0 +1,15 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.trafficvalidator.MapemParse")
+@Label("MAPEM Parse")
+@Description("Parsing of the MAPEM document")
+public class MapemParseEvent extends ValidationPhaseEvent {
+
+    public MapemParseEvent(String intersectionId, String ruleset) {
+        super(intersectionId, ruleset);
+    }
+}
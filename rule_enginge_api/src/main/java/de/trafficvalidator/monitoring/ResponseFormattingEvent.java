@@ -0,0 +1,15 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.trafficvalidator.ResponseFormatting")
+@Label("Response Formatting")
+@Description("Formatting of the validation response")
+public class ResponseFormattingEvent extends ValidationPhaseEvent {
+
+    public ResponseFormattingEvent(String intersectionId, String ruleset) {
+        super(intersectionId, ruleset);
+    }
+}
@@ -0,0 +1,15 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.trafficvalidator.RuleFiring")
+@Label("Rule Firing")
+@Description("Creation and firing of the rule unit")
+public class RuleFiringEvent extends ValidationPhaseEvent {
+
+    public RuleFiringEvent(String intersectionId, String ruleset) {
+        super(intersectionId, ruleset);
+    }
+}
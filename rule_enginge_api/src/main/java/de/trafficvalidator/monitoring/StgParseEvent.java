@@ -0,0 +1,15 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("de.trafficvalidator.StgParse")
+@Label("STG Parse")
+@Description("Parsing of the STG file and linking of its signal groups")
+public class StgParseEvent extends ValidationPhaseEvent {
+
+    public StgParseEvent(String intersectionId, String ruleset) {
+        super(intersectionId, ruleset);
+    }
+}
@@ -0,0 +1,28 @@
+package de.trafficvalidator.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the JDK Flight Recorder events emitted for the phases of a validation.
+ * The events carry the configuration ID and ruleset, so latency outliers in a recording can be
+ * matched to the request and correlated with GC pauses and lock contention in the same timeline.
+ */
+@Category({"Traffic Validator", "Validation"})
+public abstract class ValidationPhaseEvent extends Event {
+
+    @Label("Intersection ID")
+    @Description("ID of the intersection configuration")
+    String intersectionId;
+
+    @Label("Ruleset")
+    @Description("Ruleset of the validation, not set for intersection summaries")
+    String ruleset;
+
+    protected ValidationPhaseEvent(String intersectionId, String ruleset) {
+        this.intersectionId = intersectionId;
+        this.ruleset = ruleset;
+    }
+}
@@ -0,0 +1,229 @@
+package de.trafficvalidator.parser;
+
+import de.trafficvalidator.model.Lane;
+import de.trafficvalidator.util.DsrcBitString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Reads a single DSRC:GenericLane element into a {@link Lane} in one walk over its children.
+ * <p>
+ * Unlike {@code getElementsByTagName}, which searches the whole subtree again for every
+ * requested tag, this reader visits each relevant child element exactly once and only
+ * descends into the branches it needs (laneAttributes and nodeList).
+ * </p>
+ */
+final class GenericLaneReader {
+    private static final Logger logger = LoggerFactory.getLogger(GenericLaneReader.class);
+
+    private GenericLaneReader() {
+    }
+
+    /**
+     * Reads lane ID, name, approaches, attributes and nodes from a GenericLane element
+     */
+    static Lane read(Element laneElement) {
+        Lane lane = null;
+        String name = null;
+        String ingressApproach = null;
+        String egressApproach = null;
+        Element laneAttributes = null;
+        Element nodeList = null;
+
+        for (Node child = laneElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            switch (child.getNodeName()) {
+                case "DSRC:laneID":
+                    lane = new Lane(Integer.parseInt(text(child)));
+                    break;
+                case "DSRC:name":
+                    name = text(child);
+                    break;
+                case "DSRC:ingressApproach":
+                    ingressApproach = text(child);
+                    break;
+                case "DSRC:egressApproach":
+                    egressApproach = text(child);
+                    break;
+                case "DSRC:laneAttributes":
+                    laneAttributes = (Element) child;
+                    break;
+                case "DSRC:nodeList":
+                    nodeList = (Element) child;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (lane == null) {
+            throw new IllegalArgumentException("GenericLane without DSRC:laneID");
+        }
+
+        if (name != null && !name.isEmpty()) {
+            lane.setName(name);
+        }
+
+        if (ingressApproach != null && !ingressApproach.isEmpty()) {
+            lane.setIngress(true);
+            lane.setApproachId(Integer.parseInt(ingressApproach));
+        }
+
+        if (egressApproach != null && !egressApproach.isEmpty()) {
+            lane.setEgress(true);
+            lane.setApproachId(Integer.parseInt(egressApproach));
+        }
+
+        if (laneAttributes != null) {
+            readLaneAttributes(laneAttributes, lane);
+        }
+
+        if (nodeList != null) {
+            readNodeList(nodeList, lane);
+            lane.trimNodes();
+        }
+
+        return lane;
+    }
+
+    /**
+     * Reads sharedWith flags and the lane type
+     */
+    private static void readLaneAttributes(Element laneAttributes, Lane lane) {
+        for (Node child = laneAttributes.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            switch (child.getNodeName()) {
+                case "DSRC:sharedWith":
+                    MapemParser.applySharedWith(lane, DsrcBitString.decode(child.getTextContent()));
+                    break;
+                case "DSRC:laneType":
+                    readLaneType(child, lane);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Reads the lane type choice (vehicle, bikeLane, crosswalk) and its attribute bit string
+     */
+    private static void readLaneType(Node laneType, Lane lane) {
+        for (Node child = laneType.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            switch (child.getNodeName()) {
+                case "DSRC:vehicle":
+                    lane.setVehicleLane(true);
+                    break;
+                case "DSRC:bikeLane":
+                    lane.setBikeLane(true);
+                    lane.setAllowsCyclists(true);
+                    break;
+                case "DSRC:crosswalk":
+                    lane.setCrosswalk(true);
+                    lane.setAllowsPedestrians(true);
+                    break;
+                default:
+                    // Other lane types (sidewalk, striping, ...) are not modelled
+                    continue;
+            }
+            lane.setLaneTypeAttributes(DsrcBitString.decode(child.getTextContent()));
+        }
+    }
+
+    /**
+     * Reads all NodeXY entries below nodeList/nodes.
+     * The first node is offset from the reference point and every further node from its predecessor,
+     * the offsets are accumulated so the lane stores positions relative to the reference point.
+     */
+    private static void readNodeList(Element nodeList, Lane lane) {
+        for (Node nodes = nodeList.getFirstChild(); nodes != null; nodes = nodes.getNextSibling()) {
+            if (nodes.getNodeType() != Node.ELEMENT_NODE || !"DSRC:nodes".equals(nodes.getNodeName())) {
+                continue;
+            }
+            for (Node nodeXY = nodes.getFirstChild(); nodeXY != null; nodeXY = nodeXY.getNextSibling()) {
+                if (nodeXY.getNodeType() == Node.ELEMENT_NODE && "DSRC:NodeXY".equals(nodeXY.getNodeName())) {
+                    readNodeXY(nodeXY, lane);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the delta coordinates and stop line marker of a single NodeXY
+     */
+    private static void readNodeXY(Node nodeXY, Lane lane) {
+        Node xy = null;
+        boolean isStopLine = false;
+
+        for (Node child = nodeXY.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            switch (child.getNodeName()) {
+                case "DSRC:delta":
+                    // The node coordinates can be in different formats (node-XY1, node-XY2, etc.)
+                    xy = firstChildElementWithPrefix(child, "DSRC:node-XY");
+                    break;
+                case "DSRC:attributes":
+                    Node localNode = firstChildElementWithPrefix(child, "DSRC:localNode");
+                    isStopLine = localNode != null && firstChildElementWithPrefix(localNode, "DSRC:stopLine") != null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (xy == null) {
+            return;
+        }
+
+        String x = null;
+        String y = null;
+        for (Node child = xy.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            if ("DSRC:x".equals(child.getNodeName())) {
+                x = text(child);
+            } else if ("DSRC:y".equals(child.getNodeName())) {
+                y = text(child);
+            }
+        }
+
+        if (x == null || y == null) {
+            logger.warn("Skipping node without x/y offset on lane {}", lane.getId());
+            return;
+        }
+
+        int nodeCount = lane.getNodeCount();
+        double absoluteX = Integer.parseInt(x) + (nodeCount > 0 ? lane.getX(nodeCount - 1) : 0);
+        double absoluteY = Integer.parseInt(y) + (nodeCount > 0 ? lane.getY(nodeCount - 1) : 0);
+        lane.addNode(absoluteX, absoluteY, isStopLine);
+
+        if (isStopLine) {
+            logger.debug("Found stop line for lane {}: ({}, {})", lane.getId(), x, y);
+        }
+    }
+
+    private static Node firstChildElementWithPrefix(Node parent, String prefix) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && child.getNodeName().startsWith(prefix)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static String text(Node node) {
+        return node.getTextContent().trim();
+    }
+}
@@ -1,7 +1,9 @@
 package de.trafficvalidator.parser;
 
 import de.trafficvalidator.model.*;
+import de.trafficvalidator.util.ConnectionIndex;
 import de.trafficvalidator.util.DirectionCalculator;
+import de.trafficvalidator.util.DsrcBitString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -11,73 +13,234 @@ import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Parser for MAPEM XML files that extracts intersection data.
+ * <p>
+ * Instances are reentrant and can be shared between threads: everything that is built up while
+ * parsing a document lives in a {@link ParseContext} created per document, and the XML parsing
+ * uses one configured {@link DocumentBuilder} per thread.
+ * </p>
  */
 public class MapemParser {
     private static final Logger logger = LoggerFactory.getLogger(MapemParser.class);
 
-    private Intersection intersection;
-    private Map<String, Connection> connectionsMap = new HashMap<>();
-    private final Map<String, Connection> connectionKeyMap = new HashMap<>();
-    // Map to store physical signal groups by ID
-    private Map<Integer, SignalGroup> physicalSignalGroups = new HashMap<>();
-    // Set to store ingress lane IDs that have traffic streams
-    private Set<Integer> ingressLanesWithTrafficStreams = new HashSet<>();
-    // Map to store signal group types from STG file
-    private Map<Integer, SignalGroup> stgSignalGroups = new HashMap<>();
+    // Configured once; the factory itself is not thread-safe, so builders are created under its lock
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+    // Builders are reset and reused by the thread that created them
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal.withInitial(MapemParser::newDocumentBuilder);
+
+    // Whether parsing ends with the cardinal direction calculation
+    private final boolean calculateDirections;
+
+    /**
+     * State of a single document parse
+     */
+    private static final class ParseContext {
+        private Intersection intersection;
+        // Connections keyed by packed (ingress lane ID, egress lane ID), built by parseConnections
+        private ConnectionIndex connectionIndex;
+        // Set to store ingress lane IDs that have traffic streams
+        private final Set<Integer> ingressLanesWithTrafficStreams = new HashSet<>();
+    }
+
+    public MapemParser() {
+        this(true);
+    }
 
     /**
-     * Parses a MAPEM XML from input stream
+     * Creates a parser that optionally leaves the cardinal directions unset, for callers that run
+     * {@link DirectionCalculator} themselves (e.g. to time it separately)
+     */
+    public MapemParser(boolean calculateDirections) {
+        this.calculateDirections = calculateDirections;
+    }
+
+    /**
+     * Parses a MAPEM XML from input stream.
+     * For documents with several intersections only the first one is parsed, use {@link #parseAll(InputStream)}
      */
     public Intersection parse(InputStream mapemStream) throws Exception {
-        logger.info("Parsing MAPEM from input stream");
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        Document document = readDocument(builder, mapemStream);
 
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        DocumentBuilder builder = factory.newDocumentBuilder();
+        NodeList geometryNodes = document.getElementsByTagName("DSRC:IntersectionGeometry");
+        if (geometryNodes.getLength() <= 1) {
+            return parseDocument(document);
+        }
+        logger.warn("MAPEM contains {} intersections, parsing only the first one", geometryNodes.getLength());
+        return parseDocument(splitIntersections(document, geometryNodes, builder, 1).get(0));
+    }
+
+    /**
+     * Parses all intersections of a MAPEM XML from input stream.
+     * Documents with several IntersectionGeometry elements are split into one document per intersection
+     * and the parts are parsed in parallel on the common ForkJoin pool.
+     */
+    public List<Intersection> parseAll(InputStream mapemStream) throws Exception {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        Document document = readDocument(builder, mapemStream);
+
+        NodeList geometryNodes = document.getElementsByTagName("DSRC:IntersectionGeometry");
+        if (geometryNodes.getLength() <= 1) {
+            return List.of(parseDocument(document));
+        }
+
+        // DOM trees are not safe for concurrent reads, so split sequentially and hand each task its own document
+        List<Document> parts = splitIntersections(document, geometryNodes, builder, geometryNodes.getLength());
+        logger.info("Parsing {} intersections in parallel", parts.size());
+
+        List<ForkJoinTask<Intersection>> tasks = new ArrayList<>();
+        for (Document part : parts) {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> parseDocument(part)));
+        }
+
+        List<Intersection> intersections = new ArrayList<>();
+        for (ForkJoinTask<Intersection> task : tasks) {
+            intersections.add(task.join());
+        }
+        return intersections;
+    }
+
+    private static Document readDocument(DocumentBuilder builder, InputStream mapemStream) throws Exception {
+        logger.info("Parsing MAPEM from input stream");
+        builder.reset();
         Document document = builder.parse(mapemStream);
         document.getDocumentElement().normalize();
+        return document;
+    }
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try {
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support the secure processing features", e);
+        }
+        return factory;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        synchronized (DOCUMENT_BUILDER_FACTORY) {
+            try {
+                return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException("Could not create XML document builder", e);
+            }
+        }
+    }
+
+    /**
+     * Splits a multi-intersection MAPEM into one document per IntersectionGeometry, for the first partCount of them.
+     * Each traffic stream is copied to the intersection whose lanes it references; if the lane pair
+     * exists in several intersections, the traffic stream's intersectionPart (1-based) decides.
+     * The lanes of all intersections take part in that decision, also of those not split off.
+     */
+    private List<Document> splitIntersections(Document document, NodeList geometryNodes, DocumentBuilder builder,
+                                              int partCount) {
+        Element root = document.getDocumentElement();
+        List<Document> parts = new ArrayList<>();
+        List<Set<Integer>> laneIdsByPart = new ArrayList<>();
+
+        for (int i = 0; i < geometryNodes.getLength(); i++) {
+            Element geometry = (Element) geometryNodes.item(i);
+
+            if (i < partCount) {
+                Document part = builder.newDocument();
+                Element partRoot = (Element) part.importNode(root, false);
+                part.appendChild(partRoot);
+                partRoot.appendChild(part.importNode(geometry, true));
+                parts.add(part);
+            }
+
+            Set<Integer> laneIds = new HashSet<>();
+            NodeList laneIdNodes = geometry.getElementsByTagName("DSRC:laneID");
+            for (int j = 0; j < laneIdNodes.getLength(); j++) {
+                laneIds.add(Integer.parseInt(laneIdNodes.item(j).getTextContent().trim()));
+            }
+            laneIdsByPart.add(laneIds);
+        }
+
+        NodeList trafficStreamNodes = document.getElementsByTagName("MapExtension:TrafficStreamConfigData");
+        for (int i = 0; i < trafficStreamNodes.getLength(); i++) {
+            Element streamElement = (Element) trafficStreamNodes.item(i);
+            int refLaneId = Integer.parseInt(getTagContent(streamElement, "MapExtension:refLaneId"));
+            int refConnectTo = Integer.parseInt(getTagContent(streamElement, "MapExtension:refConnectTo"));
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int p = 0; p < laneIdsByPart.size(); p++) {
+                if (laneIdsByPart.get(p).contains(refLaneId) && laneIdsByPart.get(p).contains(refConnectTo)) {
+                    candidates.add(p);
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                logger.warn("Traffic stream {} -> {} matches no intersection, skipping", refLaneId, refConnectTo);
+                continue;
+            }
 
-        return parseDocument(document);
+            int target = candidates.get(0);
+            if (candidates.size() > 1) {
+                String intersectionPart = getTagContent(streamElement, "MapExtension:intersectionPart");
+                int partIndex = intersectionPart != null ? Integer.parseInt(intersectionPart) - 1 : -1;
+                if (candidates.contains(partIndex)) {
+                    target = partIndex;
+                } else {
+                    logger.warn("Traffic stream {} -> {} is ambiguous, assigning it to intersection part {}",
+                            refLaneId, refConnectTo, target + 1);
+                }
+            }
+
+            if (target >= parts.size()) {
+                continue;
+            }
+            Document part = parts.get(target);
+            Node importedStream = part.importNode(streamElement, true);
+            part.getDocumentElement().appendChild(importedStream);
+        }
+
+        return parts;
     }
 
     /**
      * Internal method to parse the XML document
      */
     private Intersection parseDocument(Document document) {
+        ParseContext context = new ParseContext();
         try {
             // Parse intersection information
-            parseIntersection(document);
+            parseIntersection(context, document);
 
             // Parse lanes
-            parseLanes(document);
+            parseLanes(context, document);
 
             // Parse connections
-            parseConnections(document);
+            parseConnections(context, document);
 
             // Parse traffic streams
-            parseTrafficStreamsAddPhysicalSignalGroups(document);
+            parseTrafficStreamsAddPhysicalSignalGroups(context, document);
 
             // Validate that all ingress lanes have signal groups (not all connections)
-            validateIngressLaneSignalGroups();
+            validateIngressLaneSignalGroups(context);
 
             // Calculate directions for lanes
-            DirectionCalculator calculator = new DirectionCalculator(intersection);
-            calculator.calculateDirectionsForApproaches();
+            if (calculateDirections) {
+                DirectionCalculator calculator = new DirectionCalculator(context.intersection);
+                calculator.calculateDirectionsForApproaches();
+            }
 
-            logger.info("Parsed intersection: {}", intersection);
-            return intersection;
+            logger.info("Parsed intersection: {}", context.intersection);
+            return context.intersection;
         } catch (Exception e) {
             logger.error("Error parsing MAPEM document: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to parse MAPEM document: " + e.getMessage(), e);
@@ -87,7 +250,7 @@ public class MapemParser {
     /**
      * Parses basic intersection information
      */
-    private void parseIntersection(Document document) {
+    private void parseIntersection(ParseContext context, Document document) {
         // Extract intersection ID and region
         NodeList idNodes = document.getElementsByTagName("DSRC:id");
         if (idNodes.getLength() > 0) {
@@ -96,11 +259,11 @@ public class MapemParser {
             int region = Integer.parseInt(getTagContent(idElement, "DSRC:region"));
             int id = Integer.parseInt(getTagContent(idElement, "DSRC:id"));
 
-            intersection = new Intersection(id, region);
+            context.intersection = new Intersection(id, region);
             logger.info("Found intersection with ID: {} in region: {}", id, region);
         } else {
             // Create a default intersection if no ID found
-            intersection = new Intersection(1, 1);
+            context.intersection = new Intersection(1, 1);
             logger.warn("No intersection ID found, using default");
         }
 
@@ -108,14 +271,14 @@ public class MapemParser {
         NodeList nameNodes = document.getElementsByTagName("DSRC:name");
         if (nameNodes.getLength() > 0) {
             String name = nameNodes.item(0).getTextContent().trim();
-            intersection.setName(name);
+            context.intersection.setName(name);
         }
 
         // Extract revision number
         NodeList revisionNodes = document.getElementsByTagName("DSRC:revision");
         if (revisionNodes.getLength() > 0) {
             int revision = Integer.parseInt(revisionNodes.item(0).getTextContent().trim());
-            intersection.setRevision(revision);
+            context.intersection.setRevision(revision);
         }
 
         // Extract reference point
@@ -126,140 +289,67 @@ public class MapemParser {
             double lat = Double.parseDouble(getTagContent(refPointElement, "DSRC:lat"));
             double lon = Double.parseDouble(getTagContent(refPointElement, "DSRC:long"));
 
-            intersection.setRefLat(lat);
-            intersection.setRefLong(lon);
+            context.intersection.setRefLat(lat);
+            context.intersection.setRefLong(lon);
         }
     }
 
     /**
      * Parses lanes information
      */
-    private void parseLanes(Document document) {
+    private void parseLanes(ParseContext context, Document document) {
         NodeList laneNodes = document.getElementsByTagName("DSRC:GenericLane");
         logger.info("Found {} lanes", laneNodes.getLength());
 
         for (int i = 0; i < laneNodes.getLength(); i++) {
             Element laneElement = (Element) laneNodes.item(i);
 
-            // Extract lane ID
-            int laneId = Integer.parseInt(getTagContent(laneElement, "DSRC:laneID"));
-            Lane lane = new Lane(laneId);
-
-            // Extract lane name
-            String laneName = getTagContent(laneElement, "DSRC:name");
-            if (laneName != null && !laneName.isEmpty()) {
-                lane.setName(laneName);
-            }
-
-            // Extract ingress/egress information
-            String ingressApproach = getTagContent(laneElement, "DSRC:ingressApproach");
-            String egressApproach = getTagContent(laneElement, "DSRC:egressApproach");
-
-            if (ingressApproach != null && !ingressApproach.isEmpty()) {
-                lane.setIngress(true);
-                lane.setApproachId(Integer.parseInt(ingressApproach));
-            }
-
-            if (egressApproach != null && !egressApproach.isEmpty()) {
-                lane.setEgress(true);
-                lane.setApproachId(Integer.parseInt(egressApproach));
-            }
-
-            // Extract lane attributes
-            Element laneAttributesElement = (Element) laneElement.getElementsByTagName("DSRC:laneAttributes").item(0);
-            if (laneAttributesElement != null) {
-                // Extract shared with flags
-                String sharedWith = getTagContent(laneAttributesElement, "DSRC:sharedWith");
-                parseSharedWith(lane, sharedWith);
-
-                // Extract lane type
-                Element laneTypeElement = (Element) laneAttributesElement.getElementsByTagName("DSRC:laneType").item(0);
-                if (laneTypeElement != null) {
-                    parseLaneType(lane, laneTypeElement);
-                }
-            }
-
-            // Extract node coordinates with stop line information
-            extractNodeCoordinates(laneElement, lane);
+            // Read ID, approach, attributes and nodes in a single walk over the lane element
+            Lane lane = GenericLaneReader.read(laneElement);
 
-            intersection.addLane(lane);
+            context.intersection.addLane(lane);
             logger.debug("Added lane: {}", lane);
         }
     }
 
     /**
-     * Parses the sharedWith attribute for a lane
+     * Sets the allowed traffic types of a lane from a decoded LaneSharing mask
      */
-    private void parseSharedWith(Lane lane, String sharedWith) {
-        if (sharedWith == null || sharedWith.isEmpty()) {
-            return;
-        }
-
-        // Remove any spaces or underscores
-        sharedWith = sharedWith.replaceAll("[\\s_]", "");
-
-        // In ASN.1 notation, bits are numbered from 0 (leftmost) to n-1 (rightmost)
-        // We need to check specific bit positions based on the ASN.1 definition
-        
-        // Convert to char array for easier bit access
-        char[] bits = sharedWith.toCharArray();
-        
-        // Check for individualMotorizedVehicleTraffic (bit 3)
-        if (bits.length > 3 && bits[3] == '1') {
+    static void applySharedWith(Lane lane, int sharedWith) {
+        if (DsrcBitString.has(sharedWith, DsrcBitString.SHARED_INDIVIDUAL_MOTORIZED_VEHICLES)) {
             lane.setAllowsIndividualMotorizedVehicles(true);
         }
-        
-        // Check for busVehicleTraffic (bit 4)
-        if (bits.length > 4 && bits[4] == '1') {
+
+        if (DsrcBitString.has(sharedWith, DsrcBitString.SHARED_BUS)) {
             lane.setAllowsPublicTransport(true);
         }
-        
-        // Check for pedestriansTraffic (bit 6)
-        if (bits.length > 6 && bits[6] == '1') {
-            lane.setAllowsPedestrians(true);
-        }
-        
-        // Check for cyclistVehicleTraffic (bit 7)
-        if (bits.length > 7 && bits[7] == '1') {
-            lane.setAllowsCyclists(true);
-        }
-    }
 
-    /**
-     * Parses the lane type information
-     */
-    private void parseLaneType(Lane lane, Element laneTypeElement) {
-        // Check for each possible lane type
-        if (laneTypeElement.getElementsByTagName("DSRC:vehicle").getLength() > 0) {
-            lane.setVehicleLane(true);
+        if (DsrcBitString.has(sharedWith, DsrcBitString.SHARED_PEDESTRIANS)) {
+            lane.setAllowsPedestrians(true);
         }
 
-        if (laneTypeElement.getElementsByTagName("DSRC:bikeLane").getLength() > 0) {
-            lane.setBikeLane(true);
+        if (DsrcBitString.has(sharedWith, DsrcBitString.SHARED_CYCLISTS)) {
             lane.setAllowsCyclists(true);
         }
-
-        if (laneTypeElement.getElementsByTagName("DSRC:crosswalk").getLength() > 0) {
-            lane.setCrosswalk(true);
-            lane.setAllowsPedestrians(true);
-        }
     }
 
     /**
      * Parses connections between lanes
      */
-    private void parseConnections(Document document) {
+    private void parseConnections(ParseContext context, Document document) {
         // Find all connecting lanes
         NodeList connectsToNodes = document.getElementsByTagName("DSRC:connectsTo");
         logger.info("Found {} potential connection groups", connectsToNodes.getLength());
 
+        context.connectionIndex = new ConnectionIndex();
+
         for (int i = 0; i < connectsToNodes.getLength(); i++) {
             Element connectsToElement = (Element) connectsToNodes.item(i);
             Element parentLaneElement = (Element) connectsToElement.getParentNode();
 
             // Get parent lane ID
             int laneId = Integer.parseInt(getTagContent(parentLaneElement, "DSRC:laneID"));
-            Lane ingressLane = intersection.getLane(laneId);
+            Lane ingressLane = context.intersection.getLane(laneId);
 
             if (ingressLane == null) {
                 logger.warn("Could not find ingress lane with ID: {}", laneId);
@@ -276,7 +366,7 @@ public class MapemParser {
                 int targetLaneId = Integer.parseInt(getTagContent(connectingLaneElement, "DSRC:lane"));
                 String maneuvers = getTagContent(connectingLaneElement, "DSRC:maneuver");
 
-                Lane egressLane = intersection.getLane(targetLaneId);
+                Lane egressLane = context.intersection.getLane(targetLaneId);
                 if (egressLane == null) {
                     logger.warn("Could not find egress lane with ID: {}", targetLaneId);
                     continue;
@@ -312,14 +402,10 @@ public class MapemParser {
                     throw new RuntimeException("MAP corrupted as it has connection with missing ID");
                 }
 
-                intersection.addConnection(connection);
-                
-                // Store connection in both maps for fast lookup
-                String connectionKey = ingressLane.getId() + "-" + egressLane.getId();
-                connectionsMap.put(connectionKey, connection);
+                context.intersection.addConnection(connection);
                 
-                String lookupKey = ingressLane.getId() + ":" + egressLane.getId();
-                connectionKeyMap.put(lookupKey, connection);
+                // Index connection by its lane pair for traffic stream linking
+                context.connectionIndex.put(ingressLane.getId(), egressLane.getId(), connection);
                 
                 logger.debug("Added connection: {}", connection);
             }
@@ -334,15 +420,14 @@ public class MapemParser {
             return;
         }
 
-        // Use the non-deprecated method to set maneuvers
-        connection.setManeuversFromBinary(maneuvers);
+        connection.setManeuvers(DsrcBitString.decode(maneuvers));
     }
 
     /**
      * Parses traffic streams from the MAPEM file
      * Traffic streams contain physical signal group information (<vt> tags)
      */
-    private void parseTrafficStreamsAddPhysicalSignalGroups(Document document) {
+    private void parseTrafficStreamsAddPhysicalSignalGroups(ParseContext context, Document document) {
         NodeList trafficStreamNodes = document.getElementsByTagName("MapExtension:TrafficStreamConfigData");
         logger.info("Found {} traffic streams", trafficStreamNodes.getLength());
 
@@ -360,11 +445,11 @@ public class MapemParser {
                 trafficStream.setRefConnectTo(refConnectTo);
 
                 // Add this lane to our set of ingress lanes with traffic streams
-                ingressLanesWithTrafficStreams.add(refLaneId);
+                context.ingressLanesWithTrafficStreams.add(refLaneId);
 
                 // Set lane references
-                Lane refLane = intersection.getLane(refLaneId);
-                Lane connectToLane = intersection.getLane(refConnectTo);
+                Lane refLane = context.intersection.getLane(refLaneId);
+                Lane connectToLane = context.intersection.getLane(refConnectTo);
 
                 if (refLane != null && connectToLane != null) {
                     trafficStream.setRefLane(refLane);
@@ -380,9 +465,9 @@ public class MapemParser {
                 }
 
                 // Parse signal groups - focus on both primary and secondary <vt> IDs and map to physicalsignalgroups for all connections
-                parseSignalGroupsForTrafficStreamAndAddToConnection(streamElement, trafficStream, refLaneId, refConnectTo);
+                parseSignalGroupsForTrafficStreamAndAddToConnection(context, streamElement, trafficStream, refLaneId, refConnectTo);
 
-                intersection.addTrafficStream(trafficStream);
+                context.intersection.addTrafficStream(trafficStream);
                 logger.debug("Added traffic stream: {}", trafficStream);
             } catch (Exception e) {
                 throw new RuntimeException("Error parsing traffic stream element: {}", e);
@@ -393,7 +478,7 @@ public class MapemParser {
     /**
      * Parses signal groups for a traffic stream
      */
-    private void parseSignalGroupsForTrafficStreamAndAddToConnection(Element streamElement, TrafficStream trafficStream,
+    private void parseSignalGroupsForTrafficStreamAndAddToConnection(ParseContext context, Element streamElement, TrafficStream trafficStream,
                                                                      int refLaneId, int refConnectTo) {
         Element signalGroupsElement = (Element) streamElement.getElementsByTagName("MapExtension:signalGroups").item(0);
         if (signalGroupsElement != null) {
@@ -412,17 +497,17 @@ public class MapemParser {
                 trafficStream.setPrimary(isPrimary);
                 
                 // Create or get the physical signal group
-                SignalGroup signalGroup = getOrCreatePhysicalSignalGroup(physicalSignalGroupId);
+                SignalGroup signalGroup = getOrCreatePhysicalSignalGroup(context, physicalSignalGroupId);
                 
                 // Find the immediate connection for this traffic stream
-                Connection connection = findConnection(refLaneId, refConnectTo);
+                Connection connection = findConnection(context, refLaneId, refConnectTo);
                 
                 if (connection != null) {
                     // Get the logical signal group ID of this connection
                     int logicalSignalGroupId = connection.getLogicalSignalGroupId();
                     
                     // Find all connections with the same logical signal group ID
-                    List<Connection> connWithSameLogicalGroup = intersection.getConnectionsByLogicalSignalGroupId(logicalSignalGroupId);
+                    List<Connection> connWithSameLogicalGroup = context.intersection.getConnectionsByLogicalSignalGroupId(logicalSignalGroupId);
                     
                     // Apply the physical signal group ID to all these connections
                     // and add them all to the traffic stream
@@ -472,67 +557,21 @@ public class MapemParser {
         return 0;
     }
 
-    /**
-     * Establishes all linkages between connections, traffic streams, and physical signal groups
-     */
-    private void establishSignalGroupLinkages() {
-        logger.info("Establishing signal group linkages");
-        
-        // For each traffic stream, link the physical signal group to all connected connections
-        for (TrafficStream stream : intersection.getTrafficStreams()) {
-            int physicalSignalGroupId = stream.getPhysicalSignalGroupId();
-            
-            if (physicalSignalGroupId > 0) {
-                // Get the signal group
-                SignalGroup signalGroup = intersection.getPhysicalSignalGroup(physicalSignalGroupId);
-                
-                if (signalGroup == null) {
-                    // Create and add if not found
-                    signalGroup = getOrCreatePhysicalSignalGroup(physicalSignalGroupId);
-                }
-                
-                // Find the initial connection for this stream
-                Connection connection = findConnection(stream.getRefLaneId(), stream.getRefConnectTo());
-                
-                if (connection != null) {
-                    // Get logical signal group ID
-                    int logicalSignalGroupId = connection.getLogicalSignalGroupId();
-                    
-                    // Find all connections with the same logical signal group ID
-                    List<Connection> connectionsWithSameLogicalGroup = 
-                            intersection.getConnectionsByLogicalSignalGroupId(logicalSignalGroupId);
-                    
-                    for (Connection conn : connectionsWithSameLogicalGroup) {
-                        // Link each connection to the signal group
-                        conn.addSignalGroup(signalGroup);
-                        signalGroup.addControlledConnection(conn);
-                        
-                        // Add each connection to the traffic stream
-                        stream.addConnection(conn);
-                        
-                        logger.debug("Linked connection {} to physical signal group {} via logical group {}", 
-                            conn.getId(), physicalSignalGroupId, logicalSignalGroupId);
-                    }
-                }
-            }
-        }
-    }
-
     /**
      * Validates that all ingress lanes with traffic streams have at least one connection with a signal group
      * @throws RuntimeException if any ingress lane with traffic streams has no connections with signal groups
      */
-    private void validateIngressLaneSignalGroups() {
+    private void validateIngressLaneSignalGroups(ParseContext context) {
         List<Integer> lanesWithoutSignalGroups = new ArrayList<>();
         
-        for (Integer laneId : ingressLanesWithTrafficStreams) {
-            Lane lane = intersection.getLane(laneId);
+        for (Integer laneId : context.ingressLanesWithTrafficStreams) {
+            Lane lane = context.intersection.getLane(laneId);
             if (lane == null) continue;
             
             boolean hasSignalGroup = false;
             
             // Check if any traffic stream for this lane has connections with signal groups
-            for (TrafficStream stream : intersection.getTrafficStreams()) {
+            for (TrafficStream stream : context.intersection.getTrafficStreams()) {
                 if (stream.getRefLaneId() == laneId && !stream.getConnections().isEmpty()) {
                     hasSignalGroup = true;
                     break;
@@ -541,7 +580,7 @@ public class MapemParser {
             
             // If no traffic stream with connections found, check all connections from this lane
             if (!hasSignalGroup) {
-                for (Connection connection : intersection.getConnections()) {
+                for (Connection connection : context.intersection.getConnections()) {
                     if (connection.getIngressLane() != null && 
                         connection.getIngressLane().getId() == laneId &&
                         connection.hasSignalGroups()) {
@@ -567,16 +606,16 @@ public class MapemParser {
         }
         
         // Log connections without signal groups, but don't fail validation
-        logConnectionsWithoutSignalGroups();
+        logConnectionsWithoutSignalGroups(context);
     }
     
     /**
      * Logs connections that don't have signal groups (for informational purposes)
      */
-    private void logConnectionsWithoutSignalGroups() {
+    private void logConnectionsWithoutSignalGroups(ParseContext context) {
         List<String> connectionsWithoutSignalGroups = new ArrayList<>();
         
-        for (Connection connection : intersection.getConnections()) {
+        for (Connection connection : context.intersection.getConnections()) {
             if (!connection.hasSignalGroups()) {
                 String connInfo = connection.getId() + " (lane " + 
                     (connection.getIngressLane() != null ? connection.getIngressLane().getId() : "unknown") + 
@@ -595,35 +634,19 @@ public class MapemParser {
     /**
      * Gets or creates a physical signal group with the given ID
      */
-    private SignalGroup getOrCreatePhysicalSignalGroup(int physicalSignalGroupId) {
+    private SignalGroup getOrCreatePhysicalSignalGroup(ParseContext context, int physicalSignalGroupId) {
         // Check if already created
-        SignalGroup signalGroup = intersection.getPhysicalSignalGroup(physicalSignalGroupId);
+        SignalGroup signalGroup = context.intersection.getPhysicalSignalGroup(physicalSignalGroupId);
         
         if (signalGroup == null) {
-            // First check if we have type information from STG file
-            SignalGroup stgSignalGroup = stgSignalGroups.get(physicalSignalGroupId);
+            // Determine the type based on the ID pattern, StgParser.updateIntersection refines it later
+            SignalGroup.SignalGroupType type = determineSignalGroupTypeFallback(physicalSignalGroupId);
+            String name = "SG" + physicalSignalGroupId;
             
-            if (stgSignalGroup != null) {
-                // If found in STG, use name and type from there
-                signalGroup = new SignalGroup(
-                    physicalSignalGroupId, 
-                    stgSignalGroup.getName(), 
-                    stgSignalGroup.getType()
-                );
-                logger.debug("Created signal group {} from STG data with type {}", 
-                    physicalSignalGroupId, stgSignalGroup.getType());
-            } else {
-                // Otherwise determine type based on ID pattern
-                SignalGroup.SignalGroupType type = determineSignalGroupTypeFallback(physicalSignalGroupId);
-                String name = "SG" + physicalSignalGroupId;
-                
-                signalGroup = new SignalGroup(physicalSignalGroupId, name, type);
-                logger.debug("Created signal group {} with fallback type {}", physicalSignalGroupId, type);
-            }
+            signalGroup = new SignalGroup(physicalSignalGroupId, name, type);
+            logger.debug("Created signal group {} with fallback type {}", physicalSignalGroupId, type);
             
-            // Add to intersection and to our local map
-            intersection.addPhysicalSignalGroup(signalGroup);
-            physicalSignalGroups.put(physicalSignalGroupId, signalGroup);
+            context.intersection.addPhysicalSignalGroup(signalGroup);
         }
         
         return signalGroup;
@@ -649,79 +672,8 @@ public class MapemParser {
     /**
      * Finds a connection based on ingress and egress lane IDs
      */
-    private Connection findConnection(int ingressLaneId, int egressLaneId) {
-        // First try the conventional format from connectionsMap
-        String connectionKey = ingressLaneId + "-" + egressLaneId;
-        Connection connection = connectionsMap.get(connectionKey);
-        
-        if (connection != null) {
-            return connection;
-        }
-        
-        // Try the alternate format from connectionKeyMap
-        String lookupKey = ingressLaneId + ":" + egressLaneId;
-        connection = connectionKeyMap.get(lookupKey);
-        
-        if (connection != null) {
-            return connection;
-        }
-        
-        // Fallback to linear search if not found in maps
-        for (Connection conn : intersection.getConnections()) {
-            if (conn.getIngressLane() != null && conn.getEgressLane() != null &&
-                conn.getIngressLane().getId() == ingressLaneId &&
-                conn.getEgressLane().getId() == egressLaneId) {
-                // Cache it for future lookups in both formats
-                connectionsMap.put(connectionKey, conn);
-                connectionKeyMap.put(lookupKey, conn);
-                return conn;
-            }
-        }
-        
-        return null;
-    }
-
-    /**
-     * Extract node coordinates
-     */
-    private void extractNodeCoordinates(Element laneElement, Lane lane) {
-        NodeList nodeXYNodes = laneElement.getElementsByTagName("DSRC:NodeXY");
-        for (int j = 0; j < nodeXYNodes.getLength(); j++) {
-            Element nodeXYElement = (Element) nodeXYNodes.item(j);
-            Element deltaElement = (Element) nodeXYElement.getElementsByTagName("DSRC:delta").item(0);
-
-            if (deltaElement != null) {
-                // The node coordinates can be in different formats (node-XY1, node-XY2, etc.)
-                NodeList deltaChildren = deltaElement.getChildNodes();
-                for (int k = 0; k < deltaChildren.getLength(); k++) {
-                    Node childNode = deltaChildren.item(k);
-                    if (childNode.getNodeType() == Node.ELEMENT_NODE &&
-                            childNode.getNodeName().startsWith("DSRC:node-XY")) {
-
-                        Element xyElement = (Element) childNode;
-                        int x = Integer.parseInt(getTagContent(xyElement, "DSRC:x"));
-                        int y = Integer.parseInt(getTagContent(xyElement, "DSRC:y"));
-
-                        // Check if this node is a stop line
-                        boolean isStopLine = false;
-                        Element attributesElement = (Element) nodeXYElement.getElementsByTagName("DSRC:attributes").item(0);
-                        if (attributesElement != null) {
-                            NodeList localNodeList = attributesElement.getElementsByTagName("DSRC:localNode");
-                            if (localNodeList.getLength() > 0) {
-                                Element localNodeElement = (Element) localNodeList.item(0);
-                                isStopLine = localNodeElement.getElementsByTagName("DSRC:stopLine").getLength() > 0;
-                            }
-                        }
-
-                        lane.addNode(x, y, isStopLine);
-                        
-                        if (isStopLine) {
-                            logger.debug("Found stop line for lane {}: ({}, {})", lane.getId(), x, y);
-                        }
-                    }
-                }
-            }
-        }
+    private static Connection findConnection(ParseContext context, int ingressLaneId, int egressLaneId) {
+        return context.connectionIndex.get(ingressLaneId, egressLaneId);
     }
 
     /**
@@ -17,6 +17,12 @@ import java.util.regex.Pattern;
 
 /**
  * Parser for STG files that extracts signal group information.
+ * <p>
+ * Every parse fills a new map, so the {@code parse} methods can be called concurrently. The
+ * instance only remembers the result of its last parse for {@link #updateIntersection(Intersection)};
+ * callers sharing an instance between threads use the returned map with
+ * {@link #updateIntersection(Intersection, Map)} instead.
+ * </p>
  */
 public class StgParser {
     private static final Logger logger = LoggerFactory.getLogger(StgParser.class);
@@ -25,7 +31,8 @@ public class StgParser {
     private static final Pattern SIGNAL_GROUP_PATTERN = Pattern.compile(
             "\\s*(\\d+),\\s*'([^']+)',\\s*'([^']+)'.*");
     
-    private Map<Integer, SignalGroup> signalGroups = new HashMap<>();
+    // Result of the last parse of this instance
+    private volatile Map<Integer, SignalGroup> signalGroups = new HashMap<>();
     
     /**
      * Parses an STG file and returns a map of signal groups by ID
@@ -34,10 +41,8 @@ public class StgParser {
         logger.info("Parsing STG file: {}", stgFile.getName());
         
         try (BufferedReader reader = new BufferedReader(new FileReader(stgFile))) {
-            parseReader(reader);
+            return signalGroups = parseReader(reader);
         }
-        
-        return signalGroups;
     }
     
     /**
@@ -47,16 +52,22 @@ public class StgParser {
         logger.info("Parsing STG from input stream");
         
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(stgStream))) {
-            parseReader(reader);
+            return signalGroups = parseReader(reader);
         }
-        
-        return signalGroups;
     }
     
     /**
-     * Updates an intersection with signal group data
+     * Updates an intersection with the signal group data of the last parse
      */
     public void updateIntersection(Intersection intersection) {
+        updateIntersection(intersection, signalGroups);
+    }
+
+    /**
+     * Updates an intersection with signal group data and classifies its signal groups,
+     * as the STG types complete the signal group linking
+     */
+    public static void updateIntersection(Intersection intersection, Map<Integer, SignalGroup> signalGroups) {
         logger.info("Updating intersection with {} signal groups", signalGroups.size());
         
         for (SignalGroup signalGroup : signalGroups.values()) {
@@ -71,12 +82,15 @@ public class StgParser {
                 intersection.addSignalGroup(signalGroup);
             }
         }
+        
+        intersection.classifySignalGroups();
     }
     
     /**
      * Internal method to parse the file content
      */
-    private void parseReader(BufferedReader reader) throws Exception {
+    private static Map<Integer, SignalGroup> parseReader(BufferedReader reader) throws Exception {
+        Map<Integer, SignalGroup> signalGroups = new HashMap<>();
         String line;
         boolean inSignalGroupSection = false;
         
@@ -92,17 +106,18 @@ public class StgParser {
             
             // Parse signal group data if in the correct section
             if (inSignalGroupSection) {
-                parseSignalGroupLine(line);
+                parseSignalGroupLine(line, signalGroups);
             }
         }
         
         logger.info("Parsed {} signal groups", signalGroups.size());
+        return signalGroups;
     }
     
     /**
      * Parses a signal group line from the STG file
      */
-    private void parseSignalGroupLine(String line) {
+    private static void parseSignalGroupLine(String line, Map<Integer, SignalGroup> signalGroups) {
         // Skip empty lines or section headers
         if (line.trim().isEmpty() || line.contains("::")) {
             return;
@@ -0,0 +1,74 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.ConflictPair;
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.SignalGroup;
+import de.trafficvalidator.model.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain Java implementation of the cyclist arrow rules of {@code CyclistArrowRuleUnit.drl}.
+ * <p>
+ * The rules are evaluated directly over the conflict pairs and signal group classifications of the
+ * intersection, without building a rule unit. The reasons are added in the order of the rules in
+ * the DRL, which Drools does not guarantee; callers must not rely on the order of the reasons.
+ * Any change to the rules has to be made in both places, the equivalence of both engines is
+ * checked by {@code CyclistArrowEvaluatorTest}.
+ * </p>
+ */
+public class CyclistArrowEvaluator implements RulesetEvaluator {
+
+    private static final String VOLLSCHEIBE_MIT_PFEIL = "VwV-StVo zu § 37, XI., 1. a) - dem entgegenkommenden Verkehr wird ein konfliktfreies Abbiegen nach links signalisiert (relevante Signalgruppe: ";
+    private static final String DIAGONAL_GRUEN = "VwV-StVo zu § 37, XI., 1. b) - für den entgegenkommenden Linksabbieger wird der grüne Pfeil gemäß § 37 Abs. 2 Nr. 1 Satz 4 verwendet (relevante Signalgruppe: ";
+    private static final String RECHTSABBIEGEHILFSIGNAL = "VwV-StVo zu § 37, XI., 1. c) - Pfeile in den für den Rechtsabbieger gültigen Lichtzeichen schreiben die Fahrtrichtung vor (relevante Signalgruppe: ";
+
+    @Override
+    public List<ValidationResult> evaluate(Intersection intersection) {
+        List<Connection> connections = intersection.getConnections();
+        List<ValidationResult> results = new ArrayList<>(connections.size());
+        // Keyed by instance, crosswalk connections share their IDs
+        Map<Connection, ValidationResult> cyclistRightTurns = new IdentityHashMap<>();
+        for (Connection connection : connections) {
+            ValidationResult result = new ValidationResult(connection);
+            results.add(result);
+            if (connection.isCyclistRightTurn()) {
+                cyclistRightTurns.put(connection, result);
+            }
+        }
+
+        List<ConflictPair> conflictPairs = intersection.getConflictPairs();
+
+        // CheckVollscheibeMitPfeil: VwV-StVo zu § 37, XI., 1. a)
+        for (ConflictPair pair : conflictPairs) {
+            SignalGroup signalGroup = pair.getLeftTurn().getSignalGroup();
+            ValidationResult result = cyclistRightTurns.get(pair.getRightTurn());
+            if (result != null && signalGroup != null && signalGroup.isLeftTurnOnly()) {
+                result.addFailure(VOLLSCHEIBE_MIT_PFEIL + signalGroup.getName() + ")");
+            }
+        }
+
+        // CheckDiagonalGruen: VwV-StVo zu § 37, XI., 1. b)
+        for (ConflictPair pair : conflictPairs) {
+            SignalGroup signalGroup = pair.getLeftTurn().getSignalGroup();
+            ValidationResult result = cyclistRightTurns.get(pair.getRightTurn());
+            if (result != null && signalGroup != null && signalGroup.isDiagonalLeftTurn()) {
+                result.addFailure(DIAGONAL_GRUEN + signalGroup.getName() + ")");
+            }
+        }
+
+        // CheckRechtsabbiegehilfsignal: VwV-StVo zu § 37, XI., 1. c)
+        for (Map.Entry<Connection, ValidationResult> entry : cyclistRightTurns.entrySet()) {
+            SignalGroup signalGroup = entry.getKey().getSignalGroup();
+            if (signalGroup != null && !signalGroup.isBicycleSignal() && signalGroup.isAdditionalRightTurnArrow()) {
+                entry.getValue().addFailure(RECHTSABBIEGEHILFSIGNAL + signalGroup.getName() + ")");
+            }
+        }
+
+        return results;
+    }
+}
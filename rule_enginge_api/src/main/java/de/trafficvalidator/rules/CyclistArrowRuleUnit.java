@@ -1,11 +1,12 @@
 package de.trafficvalidator.rules;
 
+import de.trafficvalidator.model.ConflictPair;
 import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
 import de.trafficvalidator.model.ValidationResult;
 import de.trafficvalidator.model.RuleExecution;
 import org.drools.ruleunits.api.DataSource;
 import org.drools.ruleunits.api.DataStore;
-import org.drools.ruleunits.api.RuleUnitData;
 import org.drools.ruleunits.api.DataObserver;
 
 import java.util.ArrayList;
@@ -21,15 +22,20 @@ import java.util.stream.Collectors;
  * This class holds the data for validating connections against
  * the green cyclist arrow sign (Verkehrszeichen 721) rules.
  * </p>
+ * <p>
+ * Only cyclist right turns are relevant facts: the rules start from them and join the opposing
+ * left turns through the conflict pairs of the intersection. As the opposing left turns share the
+ * egress lane of the right turn, the right turns can be partitioned by egress lane.
+ * </p>
  */
-public class CyclistArrowRuleUnit implements RuleUnitData {
+public class CyclistArrowRuleUnit implements ResultContainer<ValidationResult>, IntersectionAware, Partitionable {
     
     private static final String CATEGORY = "cyclist-arrow";
     
     private final DataStore<Connection> connections;
-    private final DataStore<ValidationResult> results;
+    private final ValidationResultStore results;
+    private final DataStore<ConflictPair> conflictPairs;
     private final DataStore<RuleExecution> executions;
-    private final Map<Integer, ValidationResult> resultMap;
     private final Map<String, List<RuleExecution>> executionMap;
     
     /**
@@ -37,9 +43,9 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
      */
     public CyclistArrowRuleUnit() {
         this.connections = DataSource.createStore();
-        this.results = DataSource.createStore();
+        this.results = new ValidationResultStore();
+        this.conflictPairs = DataSource.createStore();
         this.executions = DataSource.createStore();
-        this.resultMap = new HashMap<>();
         this.executionMap = new HashMap<>();
         
         // Add observer to update executionMap when executions are added
@@ -54,9 +60,9 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
      */
     public CyclistArrowRuleUnit(Collection<Connection> connectionList) {
         this.connections = DataSource.createStore();
-        this.results = DataSource.createStore();
+        this.results = new ValidationResultStore();
+        this.conflictPairs = DataSource.createStore();
         this.executions = DataSource.createStore();
-        this.resultMap = new HashMap<>();
         this.executionMap = new HashMap<>();
         
         // Add observer to update executionMap when executions are added
@@ -68,9 +74,7 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
         // Populate connections and create corresponding validation results
         for (Connection connection : connectionList) {
             connections.add(connection);
-            ValidationResult result = new ValidationResult(connection);
-            results.add(result);
-            resultMap.put(connection.getId(), result);
+            results.add(connection);
         }
     }
     
@@ -85,7 +89,14 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
      * Returns the validation results data store
      */
     public DataStore<ValidationResult> getResults() {
-        return results;
+        return results.getDataStore();
+    }
+    
+    /**
+     * Returns the conflict pairs data store, empty until an intersection is bound
+     */
+    public DataStore<ConflictPair> getConflictPairs() {
+        return conflictPairs;
     }
     
     /**
@@ -95,15 +106,40 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
         return executions;
     }
     
+    /**
+     * Makes the conflict pairs of the right turns added to this rule unit available to the rules
+     */
+    @Override
+    public void bindIntersection(Intersection intersection) {
+        for (ConflictPair pair : intersection.getConflictPairs()) {
+            if (results.get(pair.getRightTurn()) != null) {
+                conflictPairs.add(pair);
+            }
+        }
+    }
+
     /**
      * Adds a new connection and creates a validation result for it
      */
+    @Override
     public ValidationResult addConnection(Connection connection) {
         connections.add(connection);
-        ValidationResult result = new ValidationResult(connection);
-        results.add(result);
-        resultMap.put(connection.getId(), result);
-        return result;
+        return results.add(connection);
+    }
+
+    @Override
+    public boolean isRelevant(Connection connection) {
+        return connection.isCyclistRightTurn();
+    }
+
+    @Override
+    public ValidationResult addIrrelevantConnection(Connection connection) {
+        return results.addUnmatched(connection);
+    }
+
+    @Override
+    public Object getPartitionKey(Connection connection) {
+        return connection.getEgressLane().getId();
     }
     
     /**
@@ -118,8 +154,9 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
      * 
      * @return A list of validation results
      */
+    @Override
     public List<ValidationResult> collectResults() {
-        return new ArrayList<>(resultMap.values());
+        return results.collect();
     }
     
     /**
@@ -128,19 +165,14 @@ public class CyclistArrowRuleUnit implements RuleUnitData {
      * @param connections The collection of connections to get results for
      * @return A list of validation results corresponding to the connections
      */
+    @Override
     public List<ValidationResult> collectFromConnections(Collection<Connection> connections) {
-        List<ValidationResult> resultList = new ArrayList<>();
-        for (Connection connection : connections) {
-            ValidationResult result = resultMap.get(connection.getId());
-            if (result != null) {
-                resultList.add(result);
-            }
-        }
-        return resultList;
+        return results.collect(connections);
     }
 
+    @Override
     public ValidationResult getResultForConnection(Connection connection) {
-        return resultMap.get(connection.getId());
+        return results.get(connection);
     }
 
     public String getExecutionSummary() {
@@ -0,0 +1,18 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Intersection;
+
+/**
+ * Interface for rule units that need intersection-wide data besides the connections,
+ * such as the conflict pairs of the intersection.
+ */
+public interface IntersectionAware {
+
+    /**
+     * Binds the intersection the rule unit is evaluated for.
+     * Called once after the connections have been added and before the rules are fired.
+     *
+     * @param intersection The intersection being validated
+     */
+    void bindIntersection(Intersection intersection);
+}
@@ -0,0 +1,21 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Connection;
+
+/**
+ * Interface for rule units whose rules only relate connections within independent partitions,
+ * so the relevant connections can be split into several rule unit instances that are fired
+ * in parallel, see {@link PartitionedRuleUnitExecutor}.
+ * <p>
+ * The executor asks a single instance per category for the relevance and partition of every
+ * connection, so both must only depend on the connection, not on the state of the instance.
+ * </p>
+ */
+public interface Partitionable extends RelevanceFiltered {
+
+    /**
+     * Returns the partition of a relevant connection. The rules never match two connections
+     * with different partition keys together; keys must implement equals and hashCode.
+     */
+    Object getPartitionKey(Connection connection);
+}
@@ -0,0 +1,194 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.ValidationResult;
+import de.trafficvalidator.util.StageTimer;
+import org.drools.ruleunits.api.RuleUnitInstance;
+import org.drools.ruleunits.api.RuleUnitProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Fires {@link Partitionable} rule units as several independent instances in parallel.
+ * <p>
+ * The relevant connections are grouped by their partition key, and the partitions are packed into
+ * at most one batch per thread of the pool, largest first, so that very many small partitions do
+ * not pay for a rule unit instance each. Every batch is fired as its own rule unit instance on the
+ * pool and the results are merged in the order of the connections of the intersection; connections
+ * no rule can match get a default valid result, as in a single instance.
+ * </p>
+ * <p>
+ * The partitions are formed by one rule unit instance per category, created on first use and only
+ * asked for {@link Partitionable#isRelevant} and {@link Partitionable#getPartitionKey}.
+ * </p>
+ */
+public class PartitionedRuleUnitExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedRuleUnitExecutor.class);
+
+    private final RuleUnitRegistry ruleUnitRegistry;
+    private final ForkJoinPool pool;
+    private final Map<String, Partitionable> partitioners = new ConcurrentHashMap<>();
+
+    /**
+     * Results and worker allocation of a partitioned firing
+     */
+    public static final class PartitionedResults {
+        private final List<ValidationResult> results;
+        private final long workerAllocatedBytes;
+
+        PartitionedResults(List<ValidationResult> results, long workerAllocatedBytes) {
+            this.results = results;
+            this.workerAllocatedBytes = workerAllocatedBytes;
+        }
+
+        /**
+         * Returns one result per connection, in the order of the connections of the intersection
+         */
+        public List<ValidationResult> getResults() {
+            return results;
+        }
+
+        /**
+         * Returns the bytes allocated by the batches fired on threads other than the calling one,
+         * which the calling thread's allocation counter misses, or -1 if unsupported
+         */
+        public long getWorkerAllocatedBytes() {
+            return workerAllocatedBytes;
+        }
+    }
+
+    public PartitionedRuleUnitExecutor(RuleUnitRegistry ruleUnitRegistry, ForkJoinPool pool) {
+        this.ruleUnitRegistry = ruleUnitRegistry;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns whether the rule unit of a category can be fired partitioned
+     */
+    public boolean supports(String category) {
+        Class<?> ruleUnitClass = ruleUnitRegistry.getRuleUnitClass(category);
+        return ruleUnitClass != null && Partitionable.class.isAssignableFrom(ruleUnitClass);
+    }
+
+    /**
+     * Validates an intersection with the partitioned rule unit of a category
+     *
+     * @return One result per connection, in the order of the connections of the intersection
+     * @throws IllegalArgumentException If the category has no partitionable rule unit
+     */
+    public List<ValidationResult> fire(String category, Intersection intersection) {
+        return execute(category, intersection).getResults();
+    }
+
+    /**
+     * Validates an intersection with the partitioned rule unit of a category, keeping the
+     * allocation of the pool workers
+     *
+     * @throws IllegalArgumentException If the category has no partitionable rule unit
+     */
+    public PartitionedResults execute(String category, Intersection intersection) {
+        if (!supports(category)) {
+            throw new IllegalArgumentException("No partitioned rule unit for ruleset: " + category);
+        }
+        List<List<Connection>> batches = createBatches(category, intersection.getConnections());
+
+        Thread caller = Thread.currentThread();
+        List<ForkJoinTask<BatchResult>> tasks = new ArrayList<>(batches.size());
+        for (List<Connection> batch : batches) {
+            tasks.add(pool.submit(() -> fireBatch(category, intersection, batch, caller)));
+        }
+
+        Map<Connection, ValidationResult> resultsByConnection = new IdentityHashMap<>();
+        long allocatedBytes = 0;
+        for (ForkJoinTask<BatchResult> task : tasks) {
+            BatchResult batchResult = task.join();
+            for (ValidationResult result : batchResult.results) {
+                resultsByConnection.put(result.getConnection(), result);
+            }
+            allocatedBytes = allocatedBytes < 0 || batchResult.allocatedBytes < 0 ? -1 : allocatedBytes + batchResult.allocatedBytes;
+        }
+
+        List<ValidationResult> results = new ArrayList<>(intersection.getConnections().size());
+        for (Connection connection : intersection.getConnections()) {
+            ValidationResult result = resultsByConnection.get(connection);
+            results.add(result != null ? result : new ValidationResult(connection));
+        }
+        return new PartitionedResults(results, allocatedBytes);
+    }
+
+    /**
+     * Groups the relevant connections by partition and packs the partitions into balanced batches
+     */
+    private List<List<Connection>> createBatches(String category, List<Connection> connections) {
+        Partitionable partitioner = partitioners.computeIfAbsent(category,
+                key -> (Partitionable) ruleUnitRegistry.createRuleUnit(key, List.of()));
+        Map<Object, List<Connection>> partitions = new LinkedHashMap<>();
+        for (Connection connection : connections) {
+            if (partitioner.isRelevant(connection)) {
+                partitions.computeIfAbsent(partitioner.getPartitionKey(connection), key -> new ArrayList<>()).add(connection);
+            }
+        }
+
+        List<List<Connection>> sorted = new ArrayList<>(partitions.values());
+        sorted.sort(Comparator.comparingInt((List<Connection> partition) -> partition.size()).reversed());
+
+        int batchCount = Math.max(1, Math.min(pool.getParallelism(), sorted.size()));
+        List<List<Connection>> batches = new ArrayList<>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (List<Connection> partition : sorted) {
+            List<Connection> smallest = batches.get(0);
+            for (List<Connection> batch : batches) {
+                if (batch.size() < smallest.size()) {
+                    smallest = batch;
+                }
+            }
+            smallest.addAll(partition);
+        }
+
+        logger.debug("Split {} relevant connections in {} partitions into {} batches for category {}",
+                partitions.values().stream().mapToInt(List::size).sum(), partitions.size(), batchCount, category);
+        return batches;
+    }
+
+    /**
+     * Fires one batch; a batch the joining caller ran itself is already in the caller's own allocation
+     */
+    private BatchResult fireBatch(String category, Intersection intersection, List<Connection> batch, Thread caller) {
+        boolean worker = Thread.currentThread() != caller;
+        long allocatedBefore = worker ? StageTimer.currentThreadAllocatedBytes() : 0;
+        ResultContainer<ValidationResult> ruleUnit = ruleUnitRegistry.createRuleUnit(category, intersection, batch);
+        List<ValidationResult> results;
+        try (RuleUnitInstance<?> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
+            instance.fire();
+            results = ruleUnit.collectResults();
+        }
+        long allocatedBytes = !worker ? 0 : allocatedBefore < 0 ? -1 : StageTimer.currentThreadAllocatedBytes() - allocatedBefore;
+        return new BatchResult(results, allocatedBytes);
+    }
+
+    /**
+     * Results of one batch and the bytes allocated by the worker firing it
+     */
+    private static final class BatchResult {
+        final List<ValidationResult> results;
+        final long allocatedBytes;
+
+        BatchResult(List<ValidationResult> results, long allocatedBytes) {
+            this.results = results;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
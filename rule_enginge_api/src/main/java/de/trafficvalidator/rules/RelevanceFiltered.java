@@ -0,0 +1,34 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.ValidationResult;
+
+/**
+ * Interface for rule units whose rules can only match some of the connections.
+ * <p>
+ * The {@link RuleUnitRegistry} inserts only the relevant connections as facts, with a result the
+ * rules can update. Every other connection still gets a result, so the output lists all
+ * connections as before, but neither the connection nor its result enters the working memory.
+ * </p>
+ * A connection is relevant if a rule can match it from one of the unit's data stores, either as
+ * the connection a rule starts from or as a join partner. Connections the rules only reach by
+ * navigating the model (e.g. {@code from $connection.getEgressLane().getIncomingConnections()})
+ * need not be inserted.
+ */
+public interface RelevanceFiltered {
+
+    /**
+     * Returns whether the rules of the unit can match the connection as a fact
+     */
+    boolean isRelevant(Connection connection);
+
+    /**
+     * Adds a relevant connection as a fact, with a result the rules can update
+     */
+    ValidationResult addConnection(Connection connection);
+
+    /**
+     * Adds a connection no rule can match, with a result that is kept outside the working memory
+     */
+    ValidationResult addIrrelevantConnection(Connection connection);
+}
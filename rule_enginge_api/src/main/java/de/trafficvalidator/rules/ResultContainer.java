@@ -2,6 +2,7 @@ package de.trafficvalidator.rules;
 
 import de.trafficvalidator.model.Connection;
 import de.trafficvalidator.model.ValidationResult;
+import org.drools.ruleunits.api.RuleUnitData;
 
 import java.util.Collection;
 import java.util.List;
@@ -9,10 +10,12 @@ import java.util.List;
 /**
  * Interface for rule units that provide access to validation results.
  * This interface allows for polymorphic access to results without using reflection.
+ * Every rule unit registered in the {@link RuleUnitRegistry} implements it, usually backed by a
+ * {@link ValidationResultStore}.
  * 
  * @param <T> The type of result stored in the container
  */
-public interface ResultContainer<T> {
+public interface ResultContainer<T> extends RuleUnitData {
     
     /**
      * Collects and returns all results from the rule unit's data store
@@ -30,4 +33,12 @@ public interface ResultContainer<T> {
      * @return A list of validation results corresponding to the connections
      */
     List<ValidationResult> collectFromConnections(Collection<Connection> connections);
-} 
\ No newline at end of file
+    
+    /**
+     * Returns the validation result of a single connection
+     * 
+     * @param connection The connection to get the result for
+     * @return The result updated by the rules, or null if the connection is not part of the rule unit
+     */
+    ValidationResult getResultForConnection(Connection connection);
+}
@@ -1,7 +1,8 @@
 package de.trafficvalidator.rules;
 
 import de.trafficvalidator.model.Connection;
-import org.drools.ruleunits.api.RuleUnitData;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.ValidationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -15,12 +16,14 @@ import java.util.Set;
 /**
  * Registry for all rule unit categories in the system.
  * This class maintains a registry of available rule unit types.
+ * Every registered rule unit is a {@link ResultContainer}, so its results can be read back the same way.
+ * Some categories additionally have a {@link RulesetEvaluator} implementing the same rules in plain Java.
  */
 @Service
 public class RuleUnitRegistry {
     private static final Logger logger = LoggerFactory.getLogger(RuleUnitRegistry.class);
     
-    private static final Map<String, Class<? extends RuleUnitData>> ruleUnitTypes = new HashMap<>();
+    private static final Map<String, Class<? extends ResultContainer<ValidationResult>>> ruleUnitTypes = new HashMap<>();
     
     static {
         // Register rule unit classes
@@ -28,36 +31,101 @@ public class RuleUnitRegistry {
         ruleUnitTypes.put("signal-group", SignalGroupRuleUnit.class);
     }
     
+    private static final Map<String, RulesetEvaluator> javaEvaluators = new HashMap<>();
+    
+    static {
+        // Register plain Java implementations of rule units
+        javaEvaluators.put("cyclist-arrow", new CyclistArrowEvaluator());
+    }
+    
     /**
      * Gets a rule unit class for a specific category
      * 
      * @param category The rule unit category
      * @return The rule unit class for the category, or null if not found
      */
-    public Class<? extends RuleUnitData> getRuleUnitClass(String category) {
+    public Class<? extends ResultContainer<ValidationResult>> getRuleUnitClass(String category) {
         return ruleUnitTypes.get(category);
     }
     
     /**
-     * Creates a rule unit instance for a category with a collection of connections
+     * Gets the plain Java evaluator for a specific category
+     * 
+     * @param category The rule unit category
+     * @return The evaluator for the category, or null if the category has none
+     */
+    public RulesetEvaluator getJavaEvaluator(String category) {
+        return javaEvaluators.get(category);
+    }
+    
+    /**
+     * Creates a rule unit instance for a category with all connections of an intersection.
+     * Rule units implementing {@link IntersectionAware} are bound to the intersection as well.
+     * 
+     * @param category The rule unit category
+     * @param intersection The intersection to validate
+     * @return A rule unit instance, or null if the category is not registered
+     */
+    public ResultContainer<ValidationResult> createRuleUnit(String category, Intersection intersection) {
+        return createRuleUnit(category, intersection, intersection.getConnections());
+    }
+    
+    /**
+     * Creates a rule unit instance for a category with some of the connections of an intersection,
+     * e.g. one partition of them. Rule units implementing {@link IntersectionAware} are bound to the intersection as well.
+     * 
+     * @param category The rule unit category
+     * @param intersection The intersection to validate
+     * @param connections The connections of the intersection to add to the rule unit
+     * @return A rule unit instance, or null if the category is not registered
+     */
+    public ResultContainer<ValidationResult> createRuleUnit(String category, Intersection intersection,
+                                                            Collection<Connection> connections) {
+        ResultContainer<ValidationResult> ruleUnit = createRuleUnit(category, connections);
+        if (ruleUnit instanceof IntersectionAware) {
+            ((IntersectionAware) ruleUnit).bindIntersection(intersection);
+        }
+        return ruleUnit;
+    }
+    
+    /**
+     * Creates a rule unit instance for a category with a collection of connections.
+     * For {@link RelevanceFiltered} rule units only the relevant connections are inserted as facts.
      * 
      * @param category The rule unit category
      * @param connections The collection of connections to add to the rule unit
      * @return A rule unit instance, or null if the category is not registered
      */
-    public RuleUnitData createRuleUnit(String category, Collection<Connection> connections) {
-        Class<? extends RuleUnitData> ruleUnitClass = getRuleUnitClass(category);
+    public ResultContainer<ValidationResult> createRuleUnit(String category, Collection<Connection> connections) {
+        Class<? extends ResultContainer<ValidationResult>> ruleUnitClass = getRuleUnitClass(category);
         if (ruleUnitClass == null) {
             return null;
         }
         
         try {
+            // Rule units declaring which connections their rules can match only get those as facts
+            if (RelevanceFiltered.class.isAssignableFrom(ruleUnitClass)) {
+                ResultContainer<ValidationResult> ruleUnit = ruleUnitClass.getConstructor().newInstance();
+                RelevanceFiltered filtered = (RelevanceFiltered) ruleUnit;
+                int relevant = 0;
+                for (Connection connection : connections) {
+                    if (filtered.isRelevant(connection)) {
+                        filtered.addConnection(connection);
+                        relevant++;
+                    } else {
+                        filtered.addIrrelevantConnection(connection);
+                    }
+                }
+                logger.debug("Inserted {} of {} connections as facts for category {}", relevant, connections.size(), category);
+                return ruleUnit;
+            }
+            
             // Try to create using constructor that takes Collection<Connection>
             try {
                 return ruleUnitClass.getConstructor(Collection.class).newInstance(connections);
             } catch (NoSuchMethodException e) {
                 // Fall back to default constructor
-                RuleUnitData ruleUnit = ruleUnitClass.getConstructor().newInstance();
+                ResultContainer<ValidationResult> ruleUnit = ruleUnitClass.getConstructor().newInstance();
                 
                 // Try to add connections using addConnection method
                 try {
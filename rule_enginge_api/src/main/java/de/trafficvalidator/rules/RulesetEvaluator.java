@@ -0,0 +1,22 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.ValidationResult;
+
+import java.util.List;
+
+/**
+ * Interface for rulesets implemented in plain Java, as an alternative engine to their rule unit.
+ * An evaluator must produce the same results as the rule unit of its category, with the same
+ * reasons for every connection.
+ */
+public interface RulesetEvaluator {
+
+    /**
+     * Validates all connections of an intersection
+     *
+     * @param intersection The intersection to validate, with directions and signal groups set
+     * @return One result per connection, in the order of the connections of the intersection
+     */
+    List<ValidationResult> evaluate(Intersection intersection);
+}
@@ -5,9 +5,7 @@ import de.trafficvalidator.model.SignalGroup;
 import de.trafficvalidator.model.ValidationResult;
 import org.drools.ruleunits.api.DataSource;
 import org.drools.ruleunits.api.DataStore;
-import org.drools.ruleunits.api.RuleUnitData;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -17,13 +15,16 @@ import java.util.List;
  * This class holds the data needed for validating connections
  * against signal group rules.
  * </p>
+ * <p>
+ * Only left turns and connections allowing cyclists that have a signal group are relevant facts.
+ * </p>
  */
-public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<ValidationResult> {
+public class SignalGroupRuleUnit implements ResultContainer<ValidationResult>, RelevanceFiltered {
     
     private static final String CATEGORY = "signal-group";
     
     private final DataStore<Connection> connections;
-    private final DataStore<ValidationResult> results;
+    private final ValidationResultStore results;
     private final DataStore<SignalGroup> signalGroups;
     
     /**
@@ -31,7 +32,7 @@ public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<Valida
      */
     public SignalGroupRuleUnit() {
         this.connections = DataSource.createStore();
-        this.results = DataSource.createStore();
+        this.results = new ValidationResultStore();
         this.signalGroups = DataSource.createStore();
     }
     
@@ -39,24 +40,32 @@ public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<Valida
      * Constructor that initializes with connections
      */
     public SignalGroupRuleUnit(Collection<Connection> connectionList) {
-        this.connections = DataSource.createStore();
-        this.results = DataSource.createStore();
-        this.signalGroups = DataSource.createStore();
-        
-        // Populate connections
-        connectionList.forEach(connections::add);
-        
-        // Create corresponding validation results
-        connectionList.forEach(conn -> {
-            results.add(new ValidationResult(conn));
-            
-            // Add signal group if present and not already added
-            if (conn.getSignalGroup() != null) {
-                signalGroups.add(conn.getSignalGroup());
-            }
-        });
+        this();
+        connectionList.forEach(this::addConnection);
+    }
+    
+    /**
+     * Adds a new connection, its signal group and a validation result for it
+     */
+    @Override
+    public ValidationResult addConnection(Connection connection) {
+        connections.add(connection);
+        if (connection.getSignalGroup() != null) {
+            signalGroups.add(connection.getSignalGroup());
+        }
+        return results.add(connection);
     }
     
+    @Override
+    public boolean isRelevant(Connection connection) {
+        return (connection.isLeftTurn() || connection.allowsCyclists()) && connection.getSignalGroup() != null;
+    }
+
+    @Override
+    public ValidationResult addIrrelevantConnection(Connection connection) {
+        return results.addUnmatched(connection);
+    }
+
     /**
      * Returns the connections data store
      */
@@ -68,7 +77,7 @@ public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<Valida
      * Returns the validation results data store
      */
     public DataStore<ValidationResult> getResults() {
-        return results;
+        return results.getDataStore();
     }
     
     /**
@@ -92,9 +101,7 @@ public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<Valida
      */
     @Override
     public List<ValidationResult> collectResults() {
-        // Since we can't directly iterate over DataStore contents,
-        // defer to the connection-based method
-        return new ArrayList<>();
+        return results.collect();
     }
     
     /**
@@ -105,17 +112,11 @@ public class SignalGroupRuleUnit implements RuleUnitData, ResultContainer<Valida
      */
     @Override
     public List<ValidationResult> collectFromConnections(Collection<Connection> connections) {
-        List<ValidationResult> resultList = new ArrayList<>();
-        
-        // We can't directly iterate over results DataStore
-        // Instead, use the rule execution behavior: each Connection 
-        // should have a ValidationResult associated with it after rule execution
-        for (Connection connection : connections) {
-            // Create a result for this connection if it doesn't already exist
-            ValidationResult result = new ValidationResult(connection);
-            resultList.add(result);
-        }
-        
-        return resultList;
+        return results.collect(connections);
+    }
+    
+    @Override
+    public ValidationResult getResultForConnection(Connection connection) {
+        return results.get(connection);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package de.trafficvalidator.rules;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.ValidationResult;
+import org.drools.ruleunits.api.DataSource;
+import org.drools.ruleunits.api.DataStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validation results of a rule unit, indexed by connection.
+ * <p>
+ * The results are inserted into the data store the rules match on ({@code /results}) and kept in an
+ * index, so the objects updated by the rules can be read back directly after firing. Results are
+ * returned in the order their connections were added.
+ * </p>
+ * <p>
+ * Results of connections no rule can match are only kept in the index, see {@link RelevanceFiltered}.
+ * </p>
+ * <p>
+ * The index is keyed by connection instance rather than ID: both directions of a crosswalk share
+ * the connection ID of the MAPEM, and keying by ID would drop one of their results.
+ * </p>
+ */
+public final class ValidationResultStore {
+
+    private final DataStore<ValidationResult> dataStore = DataSource.createStore();
+    private final List<ValidationResult> results = new ArrayList<>();
+    private final Map<Connection, ValidationResult> resultsByConnection = new IdentityHashMap<>();
+
+    /**
+     * Creates the result for a connection and adds it to the data store
+     */
+    public ValidationResult add(Connection connection) {
+        ValidationResult result = addUnmatched(connection);
+        dataStore.add(result);
+        return result;
+    }
+
+    /**
+     * Creates the result for a connection without adding it to the data store
+     */
+    public ValidationResult addUnmatched(Connection connection) {
+        ValidationResult result = new ValidationResult(connection);
+        results.add(result);
+        resultsByConnection.put(connection, result);
+        return result;
+    }
+
+    /**
+     * Returns the data store the rules match on
+     */
+    public DataStore<ValidationResult> getDataStore() {
+        return dataStore;
+    }
+
+    /**
+     * Returns the result of a connection, or null if the connection was not added
+     */
+    public ValidationResult get(Connection connection) {
+        return resultsByConnection.get(connection);
+    }
+
+    /**
+     * Returns all results
+     */
+    public List<ValidationResult> collect() {
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Returns the results of the given connections, skipping connections that were not added
+     */
+    public List<ValidationResult> collect(Collection<Connection> connections) {
+        List<ValidationResult> collected = new ArrayList<>(connections.size());
+        for (Connection connection : connections) {
+            ValidationResult result = resultsByConnection.get(connection);
+            if (result != null) {
+                collected.add(result);
+            }
+        }
+        return collected;
+    }
+
+    public int size() {
+        return results.size();
+    }
+}
@@ -3,6 +3,7 @@ package de.trafficvalidator.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import java.util.List;
  * database access logic.
  */
 //@Primary
+@Lazy
 @Service
 public class DatabaseStorageService implements StorageService {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseStorageService.class);
@@ -23,7 +23,9 @@ import java.util.stream.Stream;
 
 /**
  * File system implementation of StorageService.
- * Reads configuration files from the file system or classpath resources.
+ * Reads configuration files from the file system or classpath resources: base paths without a
+ * resource prefix are resolved on the classpath, prefixed ones such as {@code file:/data/configurations}
+ * are passed to the resource loader as they are.
  */
 @Primary
 @Service
@@ -44,7 +46,7 @@ public class FileStorageService implements StorageService {
         try {
             String filePath = storageConfig.getBasePath() + "/" + id + "/mapem.xml";
             logger.info("Loading MAPEM file from: {}", filePath);
-            Resource resource = resourceLoader.getResource("classpath:" + filePath);
+            Resource resource = resourceLoader.getResource(location(filePath));
             return resource.getInputStream();
         } catch (Exception e) {
             logger.error("Failed to load MAPEM file for ID: {}", id, e);
@@ -57,7 +59,7 @@ public class FileStorageService implements StorageService {
         try {
             String filePath = storageConfig.getBasePath() + "/" + id + "/configuration.stg";
             logger.info("Loading STG file from: {}", filePath);
-            Resource resource = resourceLoader.getResource("classpath:" + filePath);
+            Resource resource = resourceLoader.getResource(location(filePath));
             return resource.getInputStream();
         } catch (Exception e) {
             logger.error("Failed to load STG file for ID: {}", id, e);
@@ -70,7 +72,7 @@ public class FileStorageService implements StorageService {
         try {
             String filePath = storageConfig.getRulesPath() + "/" + rulesetName + ".drl";
             logger.info("Loading ruleset file from: {}", filePath);
-            Resource resource = resourceLoader.getResource("classpath:" + filePath);
+            Resource resource = resourceLoader.getResource(location(filePath));
             return resource.getInputStream();
         } catch (Exception e) {
             logger.error("Failed to load ruleset file: {}", rulesetName, e);
@@ -82,7 +84,7 @@ public class FileStorageService implements StorageService {
     public List<String> getAvailableIntersectionIds() {
         try {
             // Use ResourceLoader to get the resource from classpath
-            Resource baseResource = resourceLoader.getResource("classpath:" + storageConfig.getBasePath());
+            Resource baseResource = resourceLoader.getResource(location(storageConfig.getBasePath()));
             
             // Check if the resource exists and is a directory
             if (baseResource.exists()) {
@@ -148,7 +150,7 @@ public class FileStorageService implements StorageService {
     @Override
     public List<String> getAvailableRulesets() {
         try {
-            Resource rulesResource = resourceLoader.getResource("classpath:" + storageConfig.getRulesPath());
+            Resource rulesResource = resourceLoader.getResource(location(storageConfig.getRulesPath()));
             File rulesDir = rulesResource.getFile();
             
             if (rulesDir.exists() && rulesDir.isDirectory()) {
@@ -173,4 +175,11 @@ public class FileStorageService implements StorageService {
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Returns the resource location of a path, defaulting to the classpath if it has no prefix
+     */
+    private static String location(String path) {
+        return path.contains(":") ? path : "classpath:" + path;
+    }
+}
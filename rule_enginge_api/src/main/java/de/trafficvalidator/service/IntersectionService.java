@@ -1,6 +1,13 @@
 package de.trafficvalidator.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -23,7 +30,11 @@ public class IntersectionService {
     private static final Logger logger = LoggerFactory.getLogger(IntersectionService.class);
     
     private final StorageService storageService;
+    // Reentrant, shared by all concurrent loads
     private final MapemParser mapemParser;
+    // Intersections parsed from (multi-intersection) MAPEM files, keyed by "configurationId/regionId/intersectionId",
+    // as DSRC intersection IDs are only unique within a region
+    private final Map<String, Intersection> registeredIntersections = new ConcurrentHashMap<>();
     
     @Autowired
     public IntersectionService(StorageService storageService) {
@@ -60,4 +71,67 @@ public class IntersectionService {
             throw new Exception("Failed to load intersection " + id + ": " + e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Loads and parses all intersections of a configuration whose MAPEM contains several
+     * IntersectionGeometry elements and registers each of them under "id/regionId/intersectionId"
+     *
+     * @param id The ID of the intersection configuration
+     * @return All parsed intersections in document order
+     * @throws Exception If parsing fails, or if two intersections share region and intersection ID
+     */
+    public List<Intersection> loadIntersections(String id) throws Exception {
+        try {
+            List<Intersection> intersections = mapemParser.parseAll(storageService.getMapemFile(id));
+            
+            // Each intersection gets its own signal group instances from the shared STG file
+            byte[] stgContent;
+            try (InputStream stgStream = storageService.getStgFile(id)) {
+                stgContent = stgStream.readAllBytes();
+            }
+            
+            Map<String, Intersection> byKey = new LinkedHashMap<>();
+            for (Intersection intersection : intersections) {
+                String key = registrationKey(id, intersection.getRegionId(), intersection.getId());
+                if (byKey.putIfAbsent(key, intersection) != null) {
+                    throw new IllegalArgumentException("Intersection " + intersection.getId() + " of region "
+                            + intersection.getRegionId() + " occurs more than once");
+                }
+                StgParser stgParser = new StgParser();
+                stgParser.parse(new ByteArrayInputStream(stgContent));
+                stgParser.updateIntersection(intersection);
+            }
+            registeredIntersections.putAll(byKey);
+            List<Intersection> result = new ArrayList<>(byKey.values());
+            
+            logger.info("Registered {} intersections for configuration {}", result.size(), id);
+            return result;
+        } catch (Exception e) {
+            logger.error("Failed to load intersections {}", id, e);
+            throw new Exception("Failed to load intersections " + id + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Returns an intersection registered by {@link #loadIntersections(String)}
+     *
+     * @param id The ID of the intersection configuration
+     * @param regionId The DSRC region of the intersection
+     * @param intersectionId The DSRC ID of the intersection within its region
+     * @return The registered intersection or null if it has not been loaded
+     */
+    public Intersection getRegisteredIntersection(String id, int regionId, int intersectionId) {
+        return registeredIntersections.get(registrationKey(id, regionId, intersectionId));
+    }
+    
+    /**
+     * Returns the keys ("configurationId/regionId/intersectionId") of all registered intersections
+     */
+    public Set<String> getRegisteredIntersectionKeys() {
+        return Set.copyOf(registeredIntersections.keySet());
+    }
+    
+    private static String registrationKey(String id, int regionId, int intersectionId) {
+        return id + "/" + regionId + "/" + intersectionId;
+    }
+}
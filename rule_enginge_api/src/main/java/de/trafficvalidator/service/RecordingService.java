@@ -0,0 +1,124 @@
+package de.trafficvalidator.service;
+
+import de.trafficvalidator.config.RecordingConfig;
+import de.trafficvalidator.monitoring.DirectionCalculationEvent;
+import de.trafficvalidator.monitoring.MapemParseEvent;
+import de.trafficvalidator.monitoring.ResponseFormattingEvent;
+import de.trafficvalidator.monitoring.RuleFiringEvent;
+import de.trafficvalidator.monitoring.StgParseEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts and stops JDK Flight Recorder recordings on demand.
+ * <p>
+ * A recording contains the validation phase events together with the JVM events of the chosen
+ * settings (GC, safepoints, lock contention, allocation and execution samples), so latency spikes
+ * of single validations can be correlated with what the JVM was doing at the time.
+ * Only one recording runs at a time.
+ * </p>
+ */
+@Lazy
+@Service
+public class RecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingService.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final RecordingConfig recordingConfig;
+    private Recording recording;
+
+    @Autowired
+    public RecordingService(RecordingConfig recordingConfig) {
+        this.recordingConfig = recordingConfig;
+    }
+
+    /**
+     * Starts a recording
+     *
+     * @param settings Name of the JFR settings, or null for the configured default
+     * @return Status of the started recording
+     * @throws IllegalStateException If a recording is already running
+     */
+    public synchronized Map<String, Object> start(String settings) throws IOException, ParseException {
+        if (isRunning()) {
+            throw new IllegalStateException("Recording " + recording.getId() + " is already running");
+        }
+
+        String settingsName = settings != null ? settings : recordingConfig.getSettings();
+        Path destination = Paths.get(recordingConfig.getDirectory())
+                .resolve("traffic-validator-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        Files.createDirectories(destination.getParent());
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settingsName));
+        newRecording.setName("traffic-validator");
+        newRecording.enable(MapemParseEvent.class);
+        newRecording.enable(StgParseEvent.class);
+        newRecording.enable(DirectionCalculationEvent.class);
+        newRecording.enable(RuleFiringEvent.class);
+        newRecording.enable(ResponseFormattingEvent.class);
+        newRecording.setDuration(Duration.ofMinutes(recordingConfig.getMaxDurationMinutes()));
+        newRecording.setDestination(destination);
+        newRecording.start();
+        recording = newRecording;
+
+        logger.info("Started JFR recording {} with settings {}, writing to {}", recording.getId(), settingsName, destination);
+        return getStatus();
+    }
+
+    /**
+     * Stops the running recording and writes it to its destination
+     *
+     * @return Path of the written recording
+     * @throws IllegalStateException If no recording was started
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path destination = recording.getDestination();
+        recording.close();
+        recording = null;
+
+        logger.info("Stopped JFR recording, written to {}", destination);
+        return destination;
+    }
+
+    /**
+     * Returns the state of the current recording
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", isRunning());
+        if (recording != null) {
+            status.put("id", recording.getId());
+            status.put("state", recording.getState().name());
+            status.put("startTime", String.valueOf(recording.getStartTime()));
+            status.put("destination", String.valueOf(recording.getDestination()));
+        }
+        return status;
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+}
@@ -1,20 +1,32 @@
 package de.trafficvalidator.service;
 
+import de.trafficvalidator.geometry.ConflictPointEngine;
 import de.trafficvalidator.model.Connection;
 import de.trafficvalidator.model.Direction;
 import de.trafficvalidator.model.Intersection;
 import de.trafficvalidator.model.Lane;
 import de.trafficvalidator.model.SignalGroup;
 import de.trafficvalidator.model.ValidationResult;
+import de.trafficvalidator.monitoring.DirectionCalculationEvent;
+import de.trafficvalidator.monitoring.MapemParseEvent;
+import de.trafficvalidator.monitoring.ResponseFormattingEvent;
+import de.trafficvalidator.monitoring.RuleFiringEvent;
+import de.trafficvalidator.monitoring.StgParseEvent;
 import de.trafficvalidator.parser.MapemParser;
 import de.trafficvalidator.parser.StgParser;
-import de.trafficvalidator.rules.CyclistArrowRuleUnit;
+import de.trafficvalidator.rules.PartitionedRuleUnitExecutor;
 import de.trafficvalidator.rules.ResultContainer;
 import de.trafficvalidator.rules.RuleUnitRegistry;
-import de.trafficvalidator.rules.SignalGroupRuleUnit;
+import de.trafficvalidator.rules.RulesetEvaluator;
+import de.trafficvalidator.util.DirectionCalculator;
+import de.trafficvalidator.util.SingleFlight;
+import de.trafficvalidator.util.StageTimer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.drools.ruleunits.api.RuleUnitInstance;
 import org.drools.ruleunits.api.RuleUnitProvider;
-import org.drools.ruleunits.api.RuleUnitData;
 import org.kie.api.event.rule.AfterMatchFiredEvent;
 import org.kie.api.event.rule.DefaultAgendaEventListener;
 import org.slf4j.Logger;
@@ -22,16 +34,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -44,14 +61,41 @@ import java.util.stream.Collectors;
 public class ValidationService {
     private static final Logger logger = LoggerFactory.getLogger(ValidationService.class);
 
+    /**
+     * Engine firing the rule unit of the ruleset
+     */
+    public static final String ENGINE_DROOLS = "drools";
+    /**
+     * Engine running the plain Java implementation of the ruleset, see {@link RulesetEvaluator}
+     */
+    public static final String ENGINE_JAVA = "java";
+    /**
+     * Engine firing the rule unit of the ruleset as independent partitions in parallel, see {@link PartitionedRuleUnitExecutor}
+     */
+    public static final String ENGINE_DROOLS_PARTITIONED = "drools-partitioned";
+    /**
+     * Maximum number of conflict points listed by {@link #getIntersectionSummary(String, int)}
+     */
+    public static final int MAX_CONFLICT_POINTS = 1000;
+
     private final StorageService storageService;
     private final RuleUnitRegistry ruleUnitRegistry;
+    private final MeterRegistry meterRegistry;
+    private final PartitionedRuleUnitExecutor partitionedExecutor;
+    // Validations currently running, keyed by intersection, ruleset and configuration content
+    private final SingleFlight<ValidationKey, Map<String, Object>> validations = new SingleFlight<>();
 
     @Autowired
     public ValidationService(StorageService storageService,
-                            RuleUnitRegistry ruleUnitRegistry) {
+                            RuleUnitRegistry ruleUnitRegistry,
+                            MeterRegistry meterRegistry) {
         this.storageService = storageService;
         this.ruleUnitRegistry = ruleUnitRegistry;
+        this.meterRegistry = meterRegistry;
+        this.partitionedExecutor = new PartitionedRuleUnitExecutor(ruleUnitRegistry, ForkJoinPool.commonPool());
+        Gauge.builder("validator.validation.inflight", validations, SingleFlight::inFlight)
+                .description("Validations currently computed, each possibly shared by several requests")
+                .register(meterRegistry);
     }
 
     /**
@@ -62,45 +106,209 @@ public class ValidationService {
      * @return Validation results, including summary and detailed results
      */
     public Map<String, Object> validateIntersection(String id, String ruleset) {
+        return validateIntersection(id, ruleset, false);
+    }
+
+    /**
+     * Validates an intersection configuration using the specified ruleset.
+     * Every stage is timed and recorded as the {@code validator.validation.stage} timer and as a
+     * JFR event of the {@code de.trafficvalidator.monitoring} package; with includeTimings the stage durations and allocations are added to the response as "timings".
+     * <p>
+     * Concurrent requests for the same intersection, ruleset and configuration content share a single
+     * validation and its unmodifiable response, counted by {@code validator.validation.coalesced}.
+     * Requests with timings are always validated on their own, as the timings describe their own work.
+     * </p>
+     *
+     * @param id The ID of the intersection configuration to validate
+     * @param ruleset The ruleset to validate against
+     * @param includeTimings Whether to add the stage timings to the response
+     * @return Validation results, including summary and detailed results
+     */
+    public Map<String, Object> validateIntersection(String id, String ruleset, boolean includeTimings) {
+        return validateIntersection(id, ruleset, ENGINE_DROOLS, includeTimings);
+    }
+
+    /**
+     * Validates an intersection configuration using the specified ruleset and engine, see
+     * {@link #validateIntersection(String, String, boolean)}
+     *
+     * @param engine {@link #ENGINE_DROOLS}, {@link #ENGINE_JAVA} for rulesets with a plain Java implementation,
+     *               or {@link #ENGINE_DROOLS_PARTITIONED} for rulesets with a partitionable rule unit
+     */
+    public Map<String, Object> validateIntersection(String id, String ruleset, String engine, boolean includeTimings) {
+        StageTimer timer = new StageTimer();
+        byte[] mapem;
+        byte[] stg;
         try {
+            checkEngine(ruleset, engine);
+
+            // Read MAPEM and STG files
+            mapem = timer.record("storage", () -> readAll(storageService.getMapemFile(id)));
+            stg = timer.record("storage", () -> readAll(storageService.getStgFile(id)));
+        } catch (Exception e) {
+            return errorResponse(id, ruleset, e, includeTimings ? timer : null);
+        }
+
+        if (includeTimings) {
+            return validate(id, ruleset, engine, mapem, stg, timer, true);
+        }
+        return validations.execute(new ValidationKey(id, ruleset, engine, mapem, stg),
+                () -> validate(id, ruleset, engine, mapem, stg, timer, false),
+                () -> meterRegistry.counter("validator.validation.coalesced", "ruleset", String.valueOf(ruleset)).increment());
+    }
+
+    /**
+     * Validates the read configuration and builds the response
+     */
+    private Map<String, Object> validate(String id, String ruleset, String engine, byte[] mapem, byte[] stg,
+                                         StageTimer timer, boolean includeTimings) {
+        try {
+            Function<Intersection, List<ValidationResult>> rules = getEngine(ruleset, engine, timer);
+
             // Parse MAPEM and STG files
-            Intersection intersection = loadIntersection(id);
+            Intersection intersection = parseIntersection(id, ruleset, mapem, stg, timer);
 
             // Validate based on ruleset
-            List<ValidationResult> results = validateWithRuleUnit(intersection, ruleset);
+            List<ValidationResult> results = timer.record("ruleFiring", new RuleFiringEvent(id, ruleset),
+                    () -> rules.apply(intersection));
 
             // Build response
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", id);
-            response.put("ruleset", ruleset);
-            response.put("intersection", createIntersectionSummary(intersection));
-            
-            // Format results based on ruleset
-            if ("cyclist-arrow".equals(ruleset)) {
-                response.put("results", formatGroupedValidationResults(results));
-            } else {
-                response.put("results", formatValidationResults(results));
-            }
+            Map<String, Object> response = timer.record("formatting",
+                    new ResponseFormattingEvent(id, ruleset), () -> {
+                Map<String, Object> formatted = new HashMap<>();
+                formatted.put("id", id);
+                formatted.put("ruleset", ruleset);
+                formatted.put("engine", engine);
+                formatted.put("intersection", createIntersectionSummary(intersection));
+
+                // Format results based on ruleset
+                if ("cyclist-arrow".equals(ruleset)) {
+                    Map<String, Object> grouped = formatGroupedValidationResults(results);
+                    formatted.put("results", grouped);
+                    formatted.put("textSummary", createTextSummary(grouped));
+                } else {
+                    formatted.put("results", formatValidationResults(results));
+                }
+                return formatted;
+            });
 
-            return response;
+            recordStageMetrics(timer, ruleset, engine);
+            if (includeTimings) {
+                response.put("timings", timer.toMap());
+            }
+            // Coalesced requests share the response, so it must not be modified after this point
+            return Collections.unmodifiableMap(response);
 
         } catch (Exception e) {
-            logger.error("Failed to validate intersection {}", id, e);
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("id", id);
-            errorResponse.put("ruleset", ruleset);
-            errorResponse.put("error", e.getMessage());
-            return errorResponse;
+            return errorResponse(id, ruleset, e, includeTimings ? timer : null);
+        }
+    }
+
+    /**
+     * Checks that the ruleset exists and the engine can evaluate it, before anything is read from storage
+     *
+     * @throws IllegalArgumentException If the ruleset or engine is unknown, or the engine does not support the ruleset
+     */
+    public void checkEngine(String ruleset, String engine) {
+        if (ruleUnitRegistry.getRuleUnitClass(ruleset) == null) {
+            throw new IllegalArgumentException("Unknown ruleset: " + ruleset);
+        }
+        switch (engine) {
+            case ENGINE_DROOLS:
+                break;
+            case ENGINE_JAVA:
+                if (ruleUnitRegistry.getJavaEvaluator(ruleset) == null) {
+                    throw new IllegalArgumentException("No Java engine for ruleset: " + ruleset);
+                }
+                break;
+            case ENGINE_DROOLS_PARTITIONED:
+                if (!partitionedExecutor.supports(ruleset)) {
+                    throw new IllegalArgumentException("No partitioned engine for ruleset: " + ruleset);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    /**
+     * Returns the engine validating an intersection with a ruleset, which {@link #checkEngine} accepted.
+     * Engines firing on other threads add their allocations to the "ruleFiring" stage of the timer.
+     */
+    private Function<Intersection, List<ValidationResult>> getEngine(String ruleset, String engine, StageTimer timer) {
+        switch (engine) {
+            case ENGINE_DROOLS:
+                return intersection -> validateWithRuleUnit(intersection, ruleset);
+            case ENGINE_JAVA:
+                return ruleUnitRegistry.getJavaEvaluator(ruleset)::evaluate;
+            case ENGINE_DROOLS_PARTITIONED:
+                return intersection -> {
+                    PartitionedRuleUnitExecutor.PartitionedResults fired = partitionedExecutor.execute(ruleset, intersection);
+                    timer.addAllocatedBytes("ruleFiring", fired.getWorkerAllocatedBytes());
+                    return fired.getResults();
+                };
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    private static Map<String, Object> errorResponse(String id, String ruleset, Exception e, StageTimer timer) {
+        logger.error("Failed to validate intersection {}", id, e);
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("id", id);
+        errorResponse.put("ruleset", ruleset);
+        errorResponse.put("error", e.getMessage());
+        if (timer != null) {
+            errorResponse.put("timings", timer.toMap());
+        }
+        return errorResponse;
+    }
+
+    /**
+     * Records the stages of a validation as Micrometer timers and allocation summaries
+     */
+    private void recordStageMetrics(StageTimer timer, String ruleset, String engine) {
+        for (Map.Entry<String, StageTimer.Stage> entry : timer.getStages().entrySet()) {
+            Timer.builder("validator.validation.stage")
+                    .description("Duration of the validation stages")
+                    .tag("stage", entry.getKey())
+                    .tag("ruleset", ruleset)
+                    .tag("engine", engine)
+                    .register(meterRegistry)
+                    .record(entry.getValue().getNanos(), TimeUnit.NANOSECONDS);
+            if (entry.getValue().getAllocatedBytes() >= 0) {
+                DistributionSummary.builder("validator.validation.stage.allocated")
+                        .description("Bytes allocated by the validation stages")
+                        .baseUnit("bytes")
+                        .tag("stage", entry.getKey())
+                        .tag("ruleset", ruleset)
+                        .tag("engine", engine)
+                        .register(meterRegistry)
+                        .record(entry.getValue().getAllocatedBytes());
+            }
         }
     }
 
     /**
-     * Returns a summary of the intersection configuration without validation
+     * Returns a summary of the intersection configuration without validation, with the conflict point counts only
      *
      * @param id The ID of the intersection configuration
      * @return Summary information about the intersection
      */
     public Map<String, Object> getIntersectionSummary(String id) {
+        return getIntersectionSummary(id, 0);
+    }
+
+    /**
+     * Returns a summary of the intersection configuration without validation.
+     * Large intersections have millions of conflict points, so they are counted without being kept
+     * and at most {@link #MAX_CONFLICT_POINTS} of them are listed.
+     *
+     * @param id The ID of the intersection configuration
+     * @param conflictPoints The number of conflict points to list, capped at {@link #MAX_CONFLICT_POINTS}
+     * @return Summary information about the intersection
+     */
+    public Map<String, Object> getIntersectionSummary(String id, int conflictPoints) {
         try {
             // Parse MAPEM and STG files
             Intersection intersection = loadIntersection(id);
@@ -111,6 +319,8 @@ public class ValidationService {
             response.put("summary", createIntersectionSummary(intersection));
             response.put("directionData", createDirectionSummary(intersection));
             response.put("signalGroups", createSignalGroupSummary(intersection));
+            response.put("conflicts", createConflictSummary(intersection,
+                    Math.max(0, Math.min(conflictPoints, MAX_CONFLICT_POINTS))));
 
             return response;
 
@@ -147,24 +357,97 @@ public class ValidationService {
      * @throws Exception If parsing fails
      */
     private Intersection loadIntersection(String id) throws Exception {
-        // Get MAPEM file
-        InputStream mapemStream = storageService.getMapemFile(id);
+        return loadIntersection(id, null, new StageTimer());
+    }
 
+    /**
+     * Loads and parses an intersection configuration, timing storage access, MAPEM parsing,
+     * direction calculation and STG parsing as separate stages
+     *
+     * @param ruleset The ruleset of the validation, recorded in the JFR events, or null for summaries
+     */
+    private Intersection loadIntersection(String id, String ruleset, StageTimer timer) throws Exception {
+        // Read MAPEM and STG files
+        byte[] mapem = timer.record("storage", () -> readAll(storageService.getMapemFile(id)));
+        byte[] stg = timer.record("storage", () -> readAll(storageService.getStgFile(id)));
+
+        return parseIntersection(id, ruleset, mapem, stg, timer);
+    }
+
+    /**
+     * Parses a read intersection configuration, timing MAPEM parsing, direction calculation and
+     * STG parsing as separate stages
+     */
+    private Intersection parseIntersection(String id, String ruleset, byte[] mapem, byte[] stg,
+                                           StageTimer timer) throws Exception {
         // Parse MAPEM
-        MapemParser mapemParser = new MapemParser();
-        Intersection intersection = mapemParser.parse(mapemStream);
+        Intersection intersection = timer.record("mapemParse",
+                new MapemParseEvent(id, ruleset), () -> new MapemParser(false).parse(new ByteArrayInputStream(mapem)));
 
-        // Get STG file
-        InputStream stgStream = storageService.getStgFile(id);
+        // Calculate directions for lanes
+        timer.record("directions", new DirectionCalculationEvent(id, ruleset), () -> {
+            new DirectionCalculator(intersection).calculateDirectionsForApproaches();
+            return null;
+        });
 
         // Parse STG and update intersection
-        StgParser stgParser = new StgParser();
-        stgParser.parse(stgStream);
-        stgParser.updateIntersection(intersection);
+        timer.record("stgParse", new StgParseEvent(id, ruleset), () -> {
+            StgParser stgParser = new StgParser();
+            stgParser.parse(new ByteArrayInputStream(stg));
+            stgParser.updateIntersection(intersection);
+            return null;
+        });
 
         return intersection;
     }
 
+    private static byte[] readAll(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Identifies a validation by intersection ID, ruleset, engine and the content of the configuration files,
+     * so requests after a configuration change never join a validation of the previous revision
+     */
+    private static final class ValidationKey {
+        private final String id;
+        private final String ruleset;
+        private final String engine;
+        private final byte[] mapem;
+        private final byte[] stg;
+        private final int hash;
+
+        ValidationKey(String id, String ruleset, String engine, byte[] mapem, byte[] stg) {
+            this.id = id;
+            this.ruleset = ruleset;
+            this.engine = engine;
+            this.mapem = mapem;
+            this.stg = stg;
+            this.hash = Objects.hash(id, ruleset, engine, Arrays.hashCode(mapem), Arrays.hashCode(stg));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ValidationKey)) {
+                return false;
+            }
+            ValidationKey other = (ValidationKey) o;
+            return hash == other.hash && id.equals(other.id) && Objects.equals(ruleset, other.ruleset)
+                    && Objects.equals(engine, other.engine)
+                    && Arrays.equals(mapem, other.mapem) && Arrays.equals(stg, other.stg);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * Validates intersection using a rule unit for the specified ruleset
      *
@@ -176,21 +459,18 @@ public class ValidationService {
         logger.info("Validating intersection {} with ruleset: {}", intersection.getId(), ruleset);
 
         // Create rule unit using registry's utility method
-        RuleUnitData ruleUnit = ruleUnitRegistry.createRuleUnit(ruleset, intersection.getConnections());
+        ResultContainer<ValidationResult> ruleUnit = ruleUnitRegistry.createRuleUnit(ruleset, intersection);
+        if (ruleUnit == null) {
+            throw new IllegalArgumentException("Unknown ruleset: " + ruleset);
+        }
 
         try (RuleUnitInstance<?> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
             // Fire the rules
-            instance.fire();
-
-            // Get the execution summary if the rule unit supports it
-            if (ruleUnit instanceof CyclistArrowRuleUnit) {
-                CyclistArrowRuleUnit cyclistUnit = (CyclistArrowRuleUnit) ruleUnit;
-                logger.debug(cyclistUnit.getExecutionSummary());
-                return cyclistUnit.collectResults();
-            }
+            int fired = instance.fire();
+            logger.debug("Fired {} rules for ruleset {}", fired, ruleset);
 
-            // Fallback for other rule units
-            return new ArrayList<>();
+            // Return the results updated by the rules
+            return ruleUnit.collectResults();
         } catch (Exception e) {
             throw new RuntimeException("Failed to validate intersection " + intersection.getId(), e);
         }
@@ -324,6 +604,34 @@ public class ValidationService {
         return summary;
     }
 
+    /**
+     * Creates a summary of the conflict points between connection trajectories, listing at most limit points
+     */
+    private Map<String, Object> createConflictSummary(Intersection intersection, int limit) {
+        long[] counts = new long[2];
+        List<Map<String, Object>> points = new ArrayList<>();
+        ConflictPointEngine.forEach(intersection.getConnections(), point -> {
+            counts[point.isCrossing() ? 0 : 1]++;
+            if (points.size() < limit) {
+                Map<String, Object> pointInfo = new HashMap<>();
+                pointInfo.put("type", point.getType().name());
+                pointInfo.put("connectionIds", List.of(point.getFirst().getId(), point.getSecond().getId()));
+                pointInfo.put("x", Math.round(point.getX()));
+                pointInfo.put("y", Math.round(point.getY()));
+                points.add(pointInfo);
+            }
+        });
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("crossingCount", counts[0]);
+        summary.put("mergingCount", counts[1]);
+        if (limit > 0) {
+            summary.put("conflictPoints", points);
+            summary.put("conflictPointsTruncated", counts[0] + counts[1] > points.size());
+        }
+        return summary;
+    }
+
     /**
      * Formats a list of connections for JSON output
      */
@@ -399,6 +707,79 @@ public class ValidationService {
         return formattedResults;
     }
     
+    /**
+     * Creates a German text summary of the grouped cyclist-arrow results, for GPT agent consumption
+     * 
+     * @param formattedResults The results formatted by {@link #formatGroupedValidationResults(List)}
+     * @return The text summary
+     */
+    private static String createTextSummary(Map<String, Object> formattedResults) {
+        StringBuilder summary = new StringBuilder();
+        Map<String, Object> statistics = (Map<String, Object>) formattedResults.get("statistics");
+        
+        // Add summary statistics in German
+        summary.append("Zusammenfassung:\n");
+        summary.append("Gesamte Verbindungen: ").append(statistics.get("totalConnections")).append("\n");
+        summary.append("Fahrrad-Rechtsabbieger: ").append(statistics.get("cyclistRightTurns")).append("\n");
+        summary.append("Gültige Fahrrad-Rechtsabbieger: ").append(statistics.get("validCyclistRightTurns")).append("\n");
+        summary.append("Ungültige Fahrrad-Rechtsabbieger: ").append(statistics.get("invalidCyclistRightTurns")).append("\n\n");
+        
+        // Add details by approach in German
+        summary.append("Ergebnisse:\n\n");
+        
+        Map<String, List<Map<String, Object>>> approaches = 
+                (Map<String, List<Map<String, Object>>>) formattedResults.get("approaches");
+        
+        for (Map.Entry<String, List<Map<String, Object>>> entry : approaches.entrySet()) {
+            String approachDirection = entry.getKey();
+            List<Map<String, Object>> connections = entry.getValue();
+            
+            summary.append("Zufahrt von ").append(approachDirection).append(":\n");
+            
+            // Group connections by whether they're cyclist right turns
+            List<Map<String, Object>> cyclistRightTurns = connections.stream()
+                    .filter(conn -> Boolean.TRUE.equals(conn.get("isCyclistRightTurn")))
+                    .collect(Collectors.toList());
+            
+            List<Map<String, Object>> otherConnections = connections.stream()
+                    .filter(conn -> !Boolean.TRUE.equals(conn.get("isCyclistRightTurn")))
+                    .collect(Collectors.toList());
+            
+            // Output cyclist right turns in German
+            if (!cyclistRightTurns.isEmpty()) {
+                summary.append("  Fahrrad-Rechtsabbieger:\n");
+                for (Map<String, Object> conn : cyclistRightTurns) {
+                    String direction = (String) conn.get("direction");
+                    boolean isValid = (boolean) conn.get("valid");
+                    
+                    summary.append("  - Verbindung ").append(conn.get("connectionId"))
+                          .append(": ").append(direction)
+                          .append(" (").append(isValid ? "GÜLTIG" : "UNGÜLTIG").append(")\n");
+                    
+                    // Add reasons if invalid
+                    if (!isValid && conn.containsKey("reasons")) {
+                        List<String> reasons = (List<String>) conn.get("reasons");
+                        for (String reason : reasons) {
+                            summary.append("    * ").append(reason).append("\n");
+                        }
+                    }
+                }
+            } else {
+                summary.append("  Keine Fahrrad-Rechtsabbieger von dieser Zufahrt\n");
+            }
+            
+            // Output other connections (brief summary) in German
+            if (!otherConnections.isEmpty()) {
+                summary.append("  Andere Verbindungen: ").append(otherConnections.size())
+                       .append(" (nicht relevant für Grünpfeil-Beschilderung)\n");
+            }
+            
+            summary.append("\n");
+        }
+
+        return summary.toString();
+    }
+    
     /**
      * Formats validation results grouped by approach directions for the cyclist-arrow ruleset
      * This format is optimized for GPT agent consumption
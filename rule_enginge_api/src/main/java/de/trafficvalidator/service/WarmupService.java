@@ -0,0 +1,186 @@
+package de.trafficvalidator.service;
+
+import de.trafficvalidator.config.WarmupConfig;
+import de.trafficvalidator.rules.RuleUnitRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.drools.ruleunits.api.RuleUnitData;
+import org.drools.ruleunits.api.RuleUnitInstance;
+import org.drools.ruleunits.api.RuleUnitProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up rule bases and the validation path at startup.
+ * <p>
+ * The instance refuses traffic until the warm-up has finished: readiness is set to
+ * REFUSING_TRAFFIC when it starts and to ACCEPTING_TRAFFIC once all rule units are loaded and
+ * every registered rule unit has been fired on the sample intersection. If a stage fails the
+ * instance keeps refusing traffic. Stage durations are reported in the health endpoint and as the
+ * {@code validator.startup} timer.
+ * </p>
+ */
+@Service
+public class WarmupService implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private final WarmupConfig warmupConfig;
+    private final ValidationService validationService;
+    private final RuleUnitRegistry ruleUnitRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+
+    private final Map<String, Long> stageMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean completed;
+    private volatile long durationMillis = -1;
+    private volatile String error;
+
+    @Autowired
+    public WarmupService(WarmupConfig warmupConfig,
+                         ValidationService validationService,
+                         RuleUnitRegistry ruleUnitRegistry,
+                         MeterRegistry meterRegistry,
+                         ApplicationContext applicationContext) {
+        this.warmupConfig = warmupConfig;
+        this.validationService = validationService;
+        this.ruleUnitRegistry = ruleUnitRegistry;
+        this.meterRegistry = meterRegistry;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupConfig.isEnabled()) {
+            logger.info("Warm-up disabled");
+            return;
+        }
+
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+
+        runStage("ruleBases", this::loadRuleBases);
+        runStage("validation", this::fireRuleUnits);
+
+        durationMillis = (System.nanoTime() - start) / 1_000_000;
+        completed = true;
+
+        if (error != null) {
+            logger.error("Warm-up failed after {} ms, refusing traffic: {}", durationMillis, error);
+        } else {
+            logger.info("Warm-up finished in {} ms {}", durationMillis, stageMillis);
+        }
+
+        if (warmupConfig.isExitAfterWarmup()) {
+            logger.info("Exiting after warm-up");
+            System.exit(SpringApplication.exit(applicationContext, () -> error == null ? 0 : 1));
+        }
+
+        // An instance whose rule units failed to load or fire must not receive traffic
+        if (error == null) {
+            AvailabilityChangeEvent.publish(applicationContext, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Runs a warm-up stage, recording its duration and the first error
+     */
+    private void runStage(String stage, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } catch (Exception e) {
+            logger.error("Warm-up stage {} failed", stage, e);
+            if (error == null) {
+                error = stage + ": " + e.getMessage();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        stageMillis.put(stage, nanos / 1_000_000);
+        Timer.builder("validator.startup")
+                .description("Duration of the startup warm-up stages")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Loads the rule base of every registered rule unit
+     */
+    private void loadRuleBases() {
+        for (String category : ruleUnitRegistry.getAvailableCategories()) {
+            RuleUnitData ruleUnit = ruleUnitRegistry.createRuleUnit(category, List.of());
+            try (RuleUnitInstance<RuleUnitData> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
+                instance.fire();
+            }
+        }
+    }
+
+    /**
+     * Fires every registered rule unit on the sample intersection
+     */
+    private void fireRuleUnits() {
+        String intersectionId = warmupConfig.getIntersectionId();
+        for (int i = 0; i < warmupConfig.getIterations(); i++) {
+            for (String category : ruleUnitRegistry.getAvailableCategories()) {
+                Map<String, Object> response = validationService.validateIntersection(intersectionId, category);
+                if (response.containsKey("error")) {
+                    throw new IllegalStateException(category + " on " + intersectionId + ": " + response.get("error"));
+                }
+            }
+            validationService.getIntersectionSummary(intersectionId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return warmupConfig.isEnabled();
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns the warm-up duration in ms, or -1 if it has not finished
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns the duration in ms of every finished stage, in execution order
+     */
+    public Map<String, Long> getStageMillis() {
+        synchronized (stageMillis) {
+            return new LinkedHashMap<>(stageMillis);
+        }
+    }
+
+    /**
+     * Returns the first error of the warm-up, or null if it succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    public String getIntersectionId() {
+        return warmupConfig.getIntersectionId();
+    }
+
+    public int getIterations() {
+        return warmupConfig.getIterations();
+    }
+}
@@ -0,0 +1,194 @@
+package de.trafficvalidator.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to the observed latency, following the gradient algorithm.
+ * <p>
+ * Every completed request contributes its latency to a short and a long exponentially weighted
+ * average. While the short-term latency stays near the long-term one the limit grows by about its
+ * square root per sample; when requests start queueing inside the service the short-term latency
+ * rises, the gradient {@code long / short} drops below one and the limit shrinks proportionally.
+ * The limit only grows while at least half of it is in use, so an idle period does not inflate it;
+ * it shrinks on rising latency regardless of how much of it is in use.
+ * </p>
+ * <p>
+ * Requests over the limit wait in a bounded queue for at most the given time and are rejected
+ * when the queue is full or the wait expires, so callers can shed the load instead of piling up.
+ * </p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    // Samples over which the long-term and short-term latency averages are taken
+    private static final double LONG_WINDOW = 600;
+    private static final double SHORT_WINDOW = 10;
+    // Latency increase tolerated before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    // Weight of every new limit estimate
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final LongSupplier nanoTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    /**
+     * A granted request, to be released exactly once when it has completed
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit and records the latency of the request
+         */
+        public void release() {
+            long rttNanos = nanoTime.getAsLong() - startNanos;
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                inFlight--;
+                onSample(rttNanos);
+                permitAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue) {
+        this(initialLimit, minLimit, maxLimit, maxQueue, System::nanoTime);
+    }
+
+    /**
+     * Creates a limiter with its own clock, for tests
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit || maxQueue < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid limits: initial %d, min %d, max %d, queue %d", initialLimit, minLimit, maxLimit, maxQueue));
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Acquires a permit, waiting in the queue for at most the given time
+     *
+     * @return The permit, or null if the limit is reached and the queue is full or the wait expired
+     */
+    public Permit tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < getLimit()) {
+                return grant();
+            }
+            if (queued >= maxQueue) {
+                return null;
+            }
+
+            queued++;
+            try {
+                long remainingNanos = unit.toNanos(timeout);
+                while (inFlight >= getLimit()) {
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    remainingNanos = permitAvailable.awaitNanos(remainingNanos);
+                }
+                return grant();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(nanoTime.getAsLong());
+    }
+
+    /**
+     * Updates the latency averages and the limit with the latency of a completed request
+     */
+    private void onSample(long rttNanos) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+
+        // After a latency spike the long-term average would otherwise keep the limit high for a long time
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // Only grow while the limit is actually used, but always shrink when latency rises
+        double growth = inFlight + 1 < limit / 2 ? 0 : Math.sqrt(limit);
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double estimate = limit * gradient + growth;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+
+    /**
+     * Returns the current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of requests holding a permit
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting for a permit
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.trafficvalidator.util;
+
+import de.trafficvalidator.model.Connection;
+
+/**
+ * Open-addressing hash map from an (ingress lane ID, egress lane ID) pair to a connection.
+ * <p>
+ * Both lane IDs are packed into a single primitive {@code long} key, so lookups neither
+ * box integers nor build string keys. Collisions are resolved with linear probing; an
+ * empty slot is marked by a {@code null} value.
+ * </p>
+ */
+public final class ConnectionIndex {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Connection[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public ConnectionIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an index sized for the expected number of connections
+     */
+    public ConnectionIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Packs an ingress and egress lane ID into a single key
+     */
+    public static long key(int ingressLaneId, int egressLaneId) {
+        return ((long) ingressLaneId << 32) | (egressLaneId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Stores a connection under its lane pair, replacing any previous mapping
+     *
+     * @return the previously stored connection, or null
+     */
+    public Connection put(int ingressLaneId, int egressLaneId, Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection must not be null");
+        }
+
+        long key = key(ingressLaneId, egressLaneId);
+        int slot = slot(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                Connection previous = values[slot];
+                values[slot] = connection;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = connection;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the connection between two lanes
+     *
+     * @return the connection, or null if the lanes are not connected
+     */
+    public Connection get(int ingressLaneId, int egressLaneId) {
+        long key = key(ingressLaneId, egressLaneId);
+        int slot = slot(key);
+        Connection value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing spreads the packed lane IDs over the whole table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Connection[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Connection[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
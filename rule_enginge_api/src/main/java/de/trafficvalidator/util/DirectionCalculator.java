@@ -22,17 +22,10 @@ public class DirectionCalculator {
     private double centerX;
     private double centerY;
 
-    // Direction sector boundaries in degrees (8 directions)
-    // These match the Python example exactly
-    private static final double NORTH_BOUNDARY_1 = 337.5;
-    private static final double NORTH_BOUNDARY_2 = 22.5;
-    private static final double NORTHEAST_BOUNDARY = 67.5;
-    private static final double EAST_BOUNDARY = 112.5;
-    private static final double SOUTHEAST_BOUNDARY = 157.5;
-    private static final double SOUTH_BOUNDARY = 202.5;
-    private static final double SOUTHWEST_BOUNDARY = 247.5;
-    private static final double WEST_BOUNDARY = 292.5;
-    private static final double NORTHWEST_BOUNDARY = 337.5;
+    // Eight 45° sectors, N is centered on 0° and covers 337.5° - 22.5°
+    private static final double SECTOR_WIDTH = 45.0;
+    private static final double HALF_SECTOR = SECTOR_WIDTH / 2;
+    private static final Direction[] SECTORS = Direction.values();
 
     public DirectionCalculator(Intersection intersection) {
         this.intersection = intersection;
@@ -42,107 +35,92 @@ public class DirectionCalculator {
      * Calculates the center of the intersection based on stop line positions
      */
     private void calculateIntersectionCenter() {
-        List<Lane.NodePoint> stopLineNodes = new ArrayList<>();
+        double sumX = 0;
+        double sumY = 0;
+        int stopLineCount = 0;
         
-        // Collect all stop line nodes from ingress lanes
+        // Average the stop line nodes of all ingress vehicle lanes
         for (Lane lane : intersection.getLanes().values()) {
             if (lane.isIngress() && lane.isVehicleLane()) {
-                Lane.NodePoint stopLineNode = lane.getStopLineNode();
-                if (stopLineNode != null) {
-                    stopLineNodes.add(stopLineNode);
+                int stopLineIndex = lane.getStopLineIndex();
+                if (stopLineIndex >= 0) {
+                    sumX += lane.getX(stopLineIndex);
+                    sumY += lane.getY(stopLineIndex);
+                    stopLineCount++;
                     logger.debug("Using stop line from lane {}: ({}, {})", 
-                            lane.getId(), stopLineNode.getX(), stopLineNode.getY());
+                            lane.getId(), lane.getX(stopLineIndex), lane.getY(stopLineIndex));
                 }
             }
         }
         
         // If no stop lines found, fall back to reference point
-        if (stopLineNodes.isEmpty()) {
+        if (stopLineCount == 0) {
             logger.warn("No stop lines found, using reference point as center");
             centerX = 0;
             centerY = 0;
             return;
         }
         
-        // Calculate the average position of all stop lines
-        double sumX = 0;
-        double sumY = 0;
-        
-        for (Lane.NodePoint node : stopLineNodes) {
-            sumX += node.getX();
-            sumY += node.getY();
-        }
-        
-        centerX = sumX / stopLineNodes.size();
-        centerY = sumY / stopLineNodes.size();
+        centerX = sumX / stopLineCount;
+        centerY = sumY / stopLineCount;
         
         // Store calculated center in the intersection
         intersection.setCalculatedCenter(centerX, centerY);
 
         logger.info("Calculated intersection center from {} stop lines: ({}, {})", 
-                stopLineNodes.size(), centerX, centerY);
+                stopLineCount, centerX, centerY);
     }
 
     /**
-     * Calculates the cardinal direction from a point to the center
-     * Implements the exact algorithm from the Python example
+     * Computes compass bearings (0° = North, clockwise) from a center to a batch of positions.
+     * Positions are packed as x0, y0, x1, y1, ... like {@link Lane#getCoordinates()}; all bearings are
+     * taken from the same center, so one call covers the approach lanes of one intersection.
+     *
+     * @param positions Packed positions, at least 2 * count values
+     * @param count Number of positions to process
+     * @param centerX X coordinate of the center
+     * @param centerY Y coordinate of the center
+     * @param bearings Output array receiving count bearings in degrees [0, 360)
      */
-    private Direction calculateCardinalDirection(double x, double y) {
-        logger.debug("Calculating direction for position (x={}, y={}), relative to center ({}, {})", 
-            x, y, centerX, centerY);
-
-        // Calculate dx and dy relative to center (point - center)
-        double dx = x - centerX;
-        double dy = y - centerY;
-        logger.debug("Delta values: dx={}, dy={}", dx, dy);
-
-        // Calculate the angle in compass bearings (0° = North, 90° = East, etc.)
-        double angleRad = Math.atan2(dy, dx);
-        double angleDeg = Math.toDegrees(angleRad);
-        double compassAngle = (90 - angleDeg) % 360;
-        
-        if (compassAngle < 0) {
-            compassAngle += 360;
+    public static void compassBearings(double[] positions, int count, double centerX, double centerY,
+                                       double[] bearings) {
+        for (int i = 0; i < count; i++) {
+            double dx = positions[2 * i] - centerX;
+            double dy = positions[2 * i + 1] - centerY;
+            double bearing = 90 - Math.toDegrees(Math.atan2(dy, dx));
+            bearings[i] = bearing < 0 ? bearing + 360 : bearing;
         }
-        
-        logger.debug("Calculated compass angle: {} degrees", compassAngle);
-        
-        // Determine cardinal direction based on angle
-        if (compassAngle < NORTH_BOUNDARY_2 || compassAngle >= NORTH_BOUNDARY_1) {
-            logger.debug("Angle {} falls in NORTH sector ({}-360° or 0-{}°)", 
-                compassAngle, NORTH_BOUNDARY_1, NORTH_BOUNDARY_2);
-            return Direction.N;
-        } else if (compassAngle < NORTHEAST_BOUNDARY) {
-            logger.debug("Angle {} falls in NORTHEAST sector ({}-{}°)", 
-                compassAngle, NORTH_BOUNDARY_2, NORTHEAST_BOUNDARY);
-            return Direction.NE;
-        } else if (compassAngle < EAST_BOUNDARY) {
-            logger.debug("Angle {} falls in EAST sector ({}-{}°)", 
-                compassAngle, NORTHEAST_BOUNDARY, EAST_BOUNDARY);
-            return Direction.E;
-        } else if (compassAngle < SOUTHEAST_BOUNDARY) {
-            logger.debug("Angle {} falls in SOUTHEAST sector ({}-{}°)", 
-                compassAngle, EAST_BOUNDARY, SOUTHEAST_BOUNDARY);
-            return Direction.SE;
-        } else if (compassAngle < SOUTH_BOUNDARY) {
-            logger.debug("Angle {} falls in SOUTH sector ({}-{}°)", 
-                compassAngle, SOUTHEAST_BOUNDARY, SOUTH_BOUNDARY);
-            return Direction.S;
-        } else if (compassAngle < SOUTHWEST_BOUNDARY) {
-            logger.debug("Angle {} falls in SOUTHWEST sector ({}-{}°)", 
-                compassAngle, SOUTH_BOUNDARY, SOUTHWEST_BOUNDARY);
-            return Direction.SW;
-        } else if (compassAngle < WEST_BOUNDARY) {
-            logger.debug("Angle {} falls in WEST sector ({}-{}°)", 
-                compassAngle, SOUTHWEST_BOUNDARY, WEST_BOUNDARY);
-            return Direction.W;
-        } else {
-            logger.debug("Angle {} falls in NORTHWEST sector ({}-{}°)", 
-                compassAngle, WEST_BOUNDARY, NORTHWEST_BOUNDARY);
-            return Direction.NW;
+    }
+
+    /**
+     * Maps a batch of compass bearings to the ordinal of their {@link Direction} sector
+     *
+     * @param bearings Bearings in degrees [0, 360)
+     * @param count Number of bearings to process
+     * @param sectors Output array receiving count ordinals of {@link Direction#values()}
+     */
+    public static void sectors(double[] bearings, int count, int[] sectors) {
+        for (int i = 0; i < count; i++) {
+            sectors[i] = sector(bearings[i]);
         }
     }
 
+    /**
+     * Returns the ordinal of the direction sector of a compass bearing in [0, 360).
+     * Shifting by half a sector makes every sector start on a multiple of 45°, and the
+     * mask folds the upper half of the north sector (337.5° - 360°) back onto 0.
+     */
+    public static int sector(double bearing) {
+        return (int) ((bearing + HALF_SECTOR) / SECTOR_WIDTH) & 7;
+    }
+
+    /**
+     * Returns the direction for a sector ordinal computed by {@link #sector(double)}
+     */
+    public static Direction direction(int sector) {
+        return SECTORS[sector];
+    }
+
     /**
      * Logs a summary of cardinal directions assigned to lanes
      */
@@ -189,59 +167,56 @@ public class DirectionCalculator {
         }
         
         logger.info("Found {} unique approach IDs", approachLanes.size());
-        
-        // Calculate direction for each approach
+
+        // Average the stop line (or first node) of the ingress vehicle lanes of every approach
+        List<List<Lane>> approaches = new ArrayList<>(approachLanes.size());
+        double[] positions = new double[approachLanes.size() * 2];
+        int count = 0;
+
         for (Map.Entry<Integer, List<Lane>> entry : approachLanes.entrySet()) {
             int approachId = entry.getKey();
-            List<Lane> lanes = entry.getValue();
-            
-            // Calculate average position for ingress lanes in this approach
-            List<Lane> ingressLanes = lanes.stream()
-                    .filter(Lane::isIngress)
-                    .filter(Lane::isVehicleLane)
-                    .toList();
-            
-            if (!ingressLanes.isEmpty()) {
-                // Calculate direction based on ingress lanes
-                double sumX = 0;
-                double sumY = 0;
-                int count = 0;
-                
-                for (Lane lane : ingressLanes) {
-                    Lane.NodePoint stopLine = lane.getStopLineNode();
-                    if (stopLine != null) {
-                        sumX += stopLine.getX();
-                        sumY += stopLine.getY();
-                        count++;
-                    } else if (!lane.getNodeList().isEmpty()) {
-                        Lane.NodePoint firstNode = lane.getFirstNode();
-                        sumX += firstNode.getX();
-                        sumY += firstNode.getY();
-                        count++;
-                    }
+            double sumX = 0;
+            double sumY = 0;
+            int ingressCount = 0;
+            int positionCount = 0;
+
+            for (Lane lane : entry.getValue()) {
+                if (!lane.isIngress() || !lane.isVehicleLane()) {
+                    continue;
                 }
-                
-                if (count > 0) {
-                    double avgX = sumX / count;
-                    double avgY = sumY / count;
-                    
-                    logger.debug("Calculated average position for approach {}: (x={}, y={}) from {} lanes", 
-                        approachId, avgX, avgY, count);
-                    
-                    // Calculate direction using the same algorithm as the Python example
-                    Direction direction = calculateCardinalDirection(avgX, avgY);
-                    
-                    // Apply this direction to all lanes in the approach
-                    for (Lane lane : lanes) {
-                        lane.setCardinalDirection(direction);
-                    }
-                    
-                    logger.info("Set direction for approach {}: {} (based on {} ingress lanes)", 
-                            approachId, direction, ingressLanes.size());
+                ingressCount++;
+                if (lane.getNodeCount() > 0) {
+                    int nodeIndex = Math.max(lane.getStopLineIndex(), 0);
+                    sumX += lane.getX(nodeIndex);
+                    sumY += lane.getY(nodeIndex);
+                    positionCount++;
                 }
-            } else {
+            }
+
+            if (ingressCount == 0) {
                 throw new RuntimeException("Map has approach ID " + approachId + " but no ingress lane found");
             }
+            if (positionCount > 0) {
+                positions[2 * count] = sumX / positionCount;
+                positions[2 * count + 1] = sumY / positionCount;
+                approaches.add(entry.getValue());
+                count++;
+            }
+        }
+
+        // Bearings and sectors for all approaches in one pass
+        double[] bearings = new double[count];
+        int[] sectors = new int[count];
+        compassBearings(positions, count, centerX, centerY, bearings);
+        sectors(bearings, count, sectors);
+
+        for (int i = 0; i < count; i++) {
+            Direction direction = direction(sectors[i]);
+            for (Lane lane : approaches.get(i)) {
+                lane.setCardinalDirection(direction);
+            }
+            logger.debug("Set direction {} ({} degrees) for approach {}",
+                    direction, bearings[i], approaches.get(i).get(0).getApproachId());
         }
         
         // Log a summary of directions
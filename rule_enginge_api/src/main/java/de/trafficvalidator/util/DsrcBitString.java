@@ -0,0 +1,119 @@
+package de.trafficvalidator.util;
+
+/**
+ * Decoder for the ASN.1 BIT STRING values of the DSRC MAPEM (AllowedManeuvers, LaneSharing,
+ * LaneDirection and the type specific lane attributes).
+ * <p>
+ * In the XER encoding the bits are written as '0'/'1' characters with bit 0 leftmost. The
+ * decoder turns such a value into an {@code int} mask with bit {@code n} set for every '1' at
+ * position {@code n}, in a single pass over the characters. A lookup table classifies every
+ * character: whitespace and '_' are skipped, '1' sets the bit, and any other character counts as
+ * an unset bit. No regex runs and no intermediate string is built, and the
+ * {@code char[]} variant decodes directly from the buffer of a streaming XML parser.
+ * </p>
+ * Bits past position 31 are ignored; none of the DSRC bit strings used here is that long.
+ */
+public final class DsrcBitString {
+
+    // AllowedManeuvers
+    public static final int MANEUVER_STRAIGHT = 1;
+    public static final int MANEUVER_LEFT = 1 << 1;
+    public static final int MANEUVER_RIGHT = 1 << 2;
+    public static final int MANEUVER_U_TURN = 1 << 3;
+    public static final int MANEUVER_LEFT_TURN_ON_RED = 1 << 4;
+    public static final int MANEUVER_RIGHT_TURN_ON_RED = 1 << 5;
+    public static final int MANEUVER_LANE_CHANGE = 1 << 6;
+    public static final int MANEUVER_NO_STOPPING = 1 << 7;
+    public static final int MANEUVER_YIELD_ALWAYS_REQUIRED = 1 << 8;
+    public static final int MANEUVER_GO_WITH_HALT = 1 << 9;
+    public static final int MANEUVER_CAUTION = 1 << 10;
+
+    // LaneSharing
+    public static final int SHARED_OVERLAPPING_LANE_DESCRIPTION = 1;
+    public static final int SHARED_MULTIPLE_LANES_AS_ONE = 1 << 1;
+    public static final int SHARED_OTHER_NON_MOTORIZED = 1 << 2;
+    public static final int SHARED_INDIVIDUAL_MOTORIZED_VEHICLES = 1 << 3;
+    public static final int SHARED_BUS = 1 << 4;
+    public static final int SHARED_TAXI = 1 << 5;
+    public static final int SHARED_PEDESTRIANS = 1 << 6;
+    public static final int SHARED_CYCLISTS = 1 << 7;
+    public static final int SHARED_TRACKED_VEHICLES = 1 << 8;
+    public static final int SHARED_PEDESTRIAN_TRAFFIC = 1 << 9;
+
+    // LaneDirection
+    public static final int DIRECTION_INGRESS = 1;
+    public static final int DIRECTION_EGRESS = 1 << 1;
+
+    private static final byte ZERO = 0;
+    private static final byte ONE = 1;
+    private static final byte SKIP = 2;
+
+    // Character class of every ASCII character, characters above the table count as ZERO
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+    static {
+        CHARACTER_CLASSES['1'] = ONE;
+        CHARACTER_CLASSES['_'] = SKIP;
+        for (char c = 0; c < CHARACTER_CLASSES.length; c++) {
+            if (Character.isWhitespace(c)) {
+                CHARACTER_CLASSES[c] = SKIP;
+            }
+        }
+    }
+
+    private DsrcBitString() {
+    }
+
+    /**
+     * Decodes a bit string into a mask
+     *
+     * @param bits The bit string, may be null
+     * @return The mask with bit n set for every '1' at position n, 0 for null
+     */
+    public static int decode(CharSequence bits) {
+        if (bits == null) {
+            return 0;
+        }
+        int mask = 0;
+        int position = 0;
+        for (int i = 0, length = bits.length(); i < length && position < Integer.SIZE; i++) {
+            char c = bits.charAt(i);
+            byte characterClass = c < CHARACTER_CLASSES.length ? CHARACTER_CLASSES[c] : ZERO;
+            if (characterClass == SKIP) {
+                continue;
+            }
+            if (characterClass == ONE) {
+                mask |= 1 << position;
+            }
+            position++;
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes a bit string from a character buffer, e.g. the characters of a SAX callback
+     */
+    public static int decode(char[] buffer, int offset, int length) {
+        int mask = 0;
+        int position = 0;
+        for (int i = offset, end = offset + length; i < end && position < Integer.SIZE; i++) {
+            char c = buffer[i];
+            byte characterClass = c < CHARACTER_CLASSES.length ? CHARACTER_CLASSES[c] : ZERO;
+            if (characterClass == SKIP) {
+                continue;
+            }
+            if (characterClass == ONE) {
+                mask |= 1 << position;
+            }
+            position++;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns whether all given bits are set in the mask
+     */
+    public static boolean has(int mask, int bits) {
+        return (mask & bits) == bits;
+    }
+}
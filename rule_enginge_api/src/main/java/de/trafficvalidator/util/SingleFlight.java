@@ -0,0 +1,67 @@
+package de.trafficvalidator.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into a single in-flight computation.
+ * <p>
+ * The first caller for a key runs the computation on its own thread; callers arriving with an
+ * equal key while it runs wait for and share its result (or exception) instead of computing it
+ * again. Once the computation has finished the key is released, so later calls compute afresh.
+ * Results are handed to several callers and must not be modified by them.
+ * </p>
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the result of the computation for the key, joining a running computation if there is one
+     *
+     * @param onCoalesced Called when the caller joins a computation started by another caller
+     */
+    public V execute(K key, Supplier<V> computation, Runnable onCoalesced) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            onCoalesced.run();
+            return join(running);
+        }
+
+        try {
+            V result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns the number of computations currently running
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package de.trafficvalidator.util;
+
+import jdk.jfr.Event;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records wall time and allocated bytes of consecutive processing stages on the current thread.
+ * <p>
+ * Allocation is read from the HotSpot {@code com.sun.management.ThreadMXBean}; on JVMs without
+ * thread allocation accounting the allocated bytes are reported as -1. A timer must only be used
+ * from the thread that created it; work a stage hands off to other threads is only included if
+ * the stage adds it with {@link #addAllocatedBytes(String, long)}.
+ * </p>
+ * <p>
+ * A stage can additionally be emitted as a JDK Flight Recorder event spanning the stage, so it
+ * shows up next to GC and lock events when a recording is running.
+ * </p>
+ */
+public final class StageTimer {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    /**
+     * An action measured as one stage
+     */
+    @FunctionalInterface
+    public interface StageAction<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Duration and allocation of a finished stage
+     */
+    public static final class Stage {
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Stage(long nanos, long allocatedBytes) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the bytes allocated by the timer's thread during the stage, plus the bytes added for
+         * other threads, or -1 if unsupported
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    /**
+     * Runs an action and records it under the stage name.
+     * A stage recorded twice accumulates both measurements.
+     */
+    public <T> T record(String stage, StageAction<T> action) throws Exception {
+        long allocatedBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = allocatedBefore < 0 ? -1 : currentThreadAllocatedBytes() - allocatedBefore;
+            merge(stage, new Stage(nanos, allocated));
+        }
+    }
+
+    /**
+     * Adds bytes allocated on other threads on behalf of a stage, such as by pool workers.
+     * Must be called on the timer's thread, usually from within the stage's action; -1 marks the
+     * stage's allocation as unknown.
+     */
+    public void addAllocatedBytes(String stage, long bytes) {
+        merge(stage, new Stage(0, bytes));
+    }
+
+    /**
+     * Runs an action and records it under the stage name, and as the given JFR event.
+     * The event is committed even if the action fails; if JFR is not recording, commit is a no-op.
+     */
+    public <T> T record(String stage, Event event, StageAction<T> action) throws Exception {
+        event.begin();
+        try {
+            return record(stage, action);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the recorded stages in execution order
+     */
+    public Map<String, Stage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Returns the stages as a map for JSON output, including totals
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> stageInfo = new LinkedHashMap<>();
+        long totalNanos = 0;
+        long totalAllocated = 0;
+        for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+            Stage stage = entry.getValue();
+            stageInfo.put(entry.getKey(), Map.of(
+                    "nanos", stage.getNanos(),
+                    "allocatedBytes", stage.getAllocatedBytes()));
+            totalNanos += stage.getNanos();
+            totalAllocated = totalAllocated < 0 || stage.getAllocatedBytes() < 0 ? -1 : totalAllocated + stage.getAllocatedBytes();
+        }
+        result.put("stages", stageInfo);
+        result.put("totalNanos", totalNanos);
+        result.put("totalAllocatedBytes", totalAllocated);
+        return result;
+    }
+
+    private void merge(String stage, Stage measured) {
+        stages.merge(stage, measured, (previous, current) -> new Stage(
+                previous.nanos + current.nanos,
+                previous.allocatedBytes < 0 || current.allocatedBytes < 0 ? -1 : previous.allocatedBytes + current.allocatedBytes));
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, or -1 if unsupported
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        }
+        return null;
+    }
+}
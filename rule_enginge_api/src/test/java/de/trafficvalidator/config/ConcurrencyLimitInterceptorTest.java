@@ -0,0 +1,56 @@
+package de.trafficvalidator.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(new LimiterConfig(), meterRegistry);
+
+    @Test
+    public void testBulkheadSelection() throws Exception {
+        assertEquals("bulk", admit(request("/api/debug/intersection/644/all")));
+        assertEquals("interactive", admit(request("/api/validate/644")));
+        // Only the configured paths count, not any path ending in /all
+        assertEquals("interactive", admit(request("/api/validate/all")));
+
+        MockHttpServletRequest marked = request("/api/validate/644");
+        marked.addHeader("X-Request-Priority", "bulk");
+        assertEquals("bulk", admit(marked));
+    }
+
+    @Test
+    public void testBulkPathsIgnoreContextPath() throws Exception {
+        MockHttpServletRequest request = request("/validator/api/debug/intersection/644/all");
+        request.setContextPath("/validator");
+        assertEquals("bulk", admit(request));
+    }
+
+    /**
+     * Admits a request and returns the bulkhead whose permit it holds, releasing the permit again
+     */
+    private String admit(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, null));
+        try {
+            for (String bulkhead : new String[]{"interactive", "bulk"}) {
+                if (meterRegistry.get("validator.limiter.inflight").tag("bulkhead", bulkhead).gauge().value() > 0) {
+                    return bulkhead;
+                }
+            }
+            return null;
+        } finally {
+            interceptor.afterCompletion(request, response, null, null);
+        }
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
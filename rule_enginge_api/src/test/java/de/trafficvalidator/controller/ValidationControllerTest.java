@@ -2,6 +2,7 @@ package de.trafficvalidator.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.trafficvalidator.model.ValidationResult;
+import de.trafficvalidator.service.ValidationService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -9,8 +10,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -58,6 +67,132 @@ public class ValidationControllerTest {
         assertTrue((Boolean) connection4.get("isCyclistRightTurn"), "Connection 4 should be a cyclist right turn");
     }
 
+    @Test
+    public void testValidationTimings() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "cyclist-arrow")
+                .param("timings", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Map<String, Object> response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        Map<String, Object> timings = (Map<String, Object>) response.get("timings");
+        assertNotNull(timings, "Timings should be included when requested");
+
+        Map<String, Object> stages = (Map<String, Object>) timings.get("stages");
+        assertEquals(List.of("storage", "mapemParse", "directions", "stgParse", "ruleFiring", "formatting"),
+                List.copyOf(stages.keySet()));
+    }
+
+    @Test
+    public void testSignalGroupValidationReturnsResults() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "signal-group"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Map<String, Object> response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        Map<String, Object> intersection = (Map<String, Object>) response.get("intersection");
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.get("results");
+
+        // Every connection gets the result object the rules updated
+        assertEquals(intersection.get("connectionCount"), results.size());
+        assertTrue(results.stream().anyMatch(r -> !(Boolean) r.get("valid")),
+                "Some connections should fail the signal group rules");
+    }
+
+    @Test
+    public void testJavaEngineMatchesDrools() throws Exception {
+        Map<String, Object> drools = objectMapper.readValue(mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "cyclist-arrow"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), Map.class);
+        Map<String, Object> java = objectMapper.readValue(mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "cyclist-arrow")
+                .param("engine", "java"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), Map.class);
+
+        assertEquals("java", java.get("engine"));
+        assertEquals(((Map<String, Object>) drools.get("results")).get("statistics"),
+                ((Map<String, Object>) java.get("results")).get("statistics"));
+    }
+
+    @Test
+    public void testUnsupportedEngineIsAClientError() throws Exception {
+        Map<String, Object> response = objectMapper.readValue(mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "signal-group")
+                .param("engine", "java"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString(), Map.class);
+        assertEquals("No Java engine for ruleset: signal-group", response.get("error"));
+
+        mockMvc.perform(get("/api/validate/644")
+                .param("ruleset", "cyclist-arrow")
+                .param("engine", "rete"))
+                .andExpect(status().isBadRequest());
+
+        // Checked before storage, so a missing configuration does not turn it into a 404
+        mockMvc.perform(get("/api/validate/does-not-exist")
+                .param("ruleset", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testConcurrentCyclistArrowValidations() throws Exception {
+        // Concurrent requests share a coalesced response, which must be the same for all of them
+        int threads = 8;
+        int requestsPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads * requestsPerThread; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(get("/api/validate/644")
+                            .param("ruleset", "cyclist-arrow"))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsString();
+                }));
+            }
+            start.countDown();
+
+            Set<Object> summaries = new HashSet<>();
+            for (Future<String> future : futures) {
+                Map<String, Object> response = objectMapper.readValue(future.get(60, TimeUnit.SECONDS), Map.class);
+                assertNotNull(response.get("textSummary"), "Every response should contain the text summary");
+                summaries.add(response.get("textSummary"));
+            }
+            assertEquals(1, summaries.size(), "All responses should contain the same text summary");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSummaryListsConflictPointsOnlyOnRequest() throws Exception {
+        Map<String, Object> conflicts = getConflictSummary("/api/validate/644/summary");
+        long total = ((Number) conflicts.get("crossingCount")).longValue() + ((Number) conflicts.get("mergingCount")).longValue();
+        assertTrue(total > 5, "644 should have conflict points");
+        assertFalse(conflicts.containsKey("conflictPoints"), "Only the counts should be returned by default");
+
+        conflicts = getConflictSummary("/api/validate/644/summary?conflictPoints=5");
+        assertEquals(5, ((List<?>) conflicts.get("conflictPoints")).size());
+        assertEquals(true, conflicts.get("conflictPointsTruncated"));
+
+        conflicts = getConflictSummary("/api/validate/644/summary?conflictPoints=1000000");
+        int listed = ((List<?>) conflicts.get("conflictPoints")).size();
+        assertEquals(Math.min(total, ValidationService.MAX_CONFLICT_POINTS), listed);
+        assertEquals(total > listed, conflicts.get("conflictPointsTruncated"));
+    }
+
+    private Map<String, Object> getConflictSummary(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn();
+        Map<String, Object> response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        return (Map<String, Object>) response.get("conflicts");
+    }
+
     private Map<String, Object> findConnectionById(List<Map<String, Object>> connections, int connectionId) {
         return connections.stream()
                 .filter(conn -> ((Integer) conn.get("connectionId")) == connectionId)
@@ -0,0 +1,154 @@
+package de.trafficvalidator.geometry;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the sweep of the {@link ConflictPointEngine} with a pairwise comparison of every two
+ * connection trajectories of the bundled configurations, and checks the indexes of the {@link ConflictTable}.
+ */
+public class ConflictPointEngineTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testMatchesPairwiseComparison(String id) throws Exception {
+        Intersection intersection = LaneSpatialIndexTest.load(id);
+        List<Connection> connections = intersection.getConnections();
+        Map<Connection, Integer> position = new IdentityHashMap<>();
+        for (Connection connection : connections) {
+            position.putIfAbsent(connection, position.size());
+        }
+
+        Map<String, ConflictPoint> expected = new HashMap<>();
+        for (int i = 0; i < connections.size(); i++) {
+            for (int j = i + 1; j < connections.size(); j++) {
+                ConflictPoint point = bruteForce(connections.get(i), connections.get(j));
+                if (point != null) {
+                    assertNull(expected.put(key(position, point), point), "Duplicate connection pair");
+                }
+            }
+        }
+
+        ConflictTable table = ConflictPointEngine.compute(intersection);
+        Map<String, ConflictPoint> actual = new HashMap<>();
+        for (ConflictPoint point : table.getConflictPoints()) {
+            assertNull(actual.put(key(position, point), point), "Each pair should be reported once: " + point);
+        }
+
+        assertEquals(expected.keySet(), actual.keySet(), "Conflicting connection pairs");
+        for (Map.Entry<String, ConflictPoint> entry : expected.entrySet()) {
+            ConflictPoint want = entry.getValue();
+            ConflictPoint got = actual.get(entry.getKey());
+            assertEquals(want.getType(), got.getType(), entry.getKey());
+            assertEquals(want.getX(), got.getX(), TOLERANCE, entry.getKey());
+            assertEquals(want.getY(), got.getY(), TOLERANCE, entry.getKey());
+        }
+        assertTrue(table.getCrossingCount() > 0, "Some trajectories should cross, or the comparison is vacuous");
+        assertEquals(table.size(), table.getCrossingCount() + table.getMergingCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testConflictTableIndex(String id) throws Exception {
+        Intersection intersection = LaneSpatialIndexTest.load(id);
+        ConflictTable table = ConflictPointEngine.compute(intersection);
+
+        int indexed = 0;
+        for (Connection connection : intersection.getConnections()) {
+            List<ConflictPoint> points = table.getConflictsFor(connection);
+            List<Connection> crossing = new ArrayList<>();
+            for (ConflictPoint point : table.getConflictPoints()) {
+                if (point.involves(connection)) {
+                    assertTrue(points.contains(point), "Missing " + point + " for connection " + connection.getId());
+                    assertTrue(table.conflicts(connection, point.getOther(connection)));
+                    assertTrue(table.conflicts(point.getOther(connection), connection));
+                    if (point.isCrossing()) {
+                        crossing.add(point.getOther(connection));
+                    }
+                }
+            }
+            assertEquals(crossing.size(), table.getCrossingConnections(connection).size(), "connection " + connection.getId());
+            indexed += points.size();
+        }
+        // Every point is indexed under both of its connections
+        assertTrue(indexed >= 2 * table.size());
+    }
+
+    /**
+     * Straightforward evaluation of one pair, following the trajectory definition of the engine
+     */
+    private static ConflictPoint bruteForce(Connection first, Connection second) {
+        double[] a = trajectory(first);
+        double[] b = trajectory(second);
+        if (a == null || b == null || first.getIngressLane() == second.getIngressLane()) {
+            return null;
+        }
+        if (first.getEgressLane() == second.getEgressLane()) {
+            return new ConflictPoint(first, second, ConflictPoint.Type.MERGING, a[2], a[3]);
+        }
+
+        double denominator = (a[2] - a[0]) * (b[3] - b[1]) - (a[3] - a[1]) * (b[2] - b[0]);
+        if (Math.abs(denominator) < 1e-9) {
+            return null;
+        }
+        double t = ((b[0] - a[0]) * (b[3] - b[1]) - (b[1] - a[1]) * (b[2] - b[0])) / denominator;
+        double u = ((b[0] - a[0]) * (a[3] - a[1]) - (b[1] - a[1]) * (a[2] - a[0])) / denominator;
+        if (t < 0 || t > 1 || u < 0 || u > 1) {
+            return null;
+        }
+        return new ConflictPoint(first, second, ConflictPoint.Type.CROSSING,
+                a[0] + t * (a[2] - a[0]), a[1] + t * (a[3] - a[1]));
+    }
+
+    private static double[] trajectory(Connection connection) {
+        Lane ingress = connection.getIngressLane();
+        Lane egress = connection.getEgressLane();
+        if (ingress == null || egress == null || ingress.getNodeCount() == 0 || egress.getNodeCount() == 0) {
+            return null;
+        }
+        int start = Math.max(ingress.getStopLineIndex(), 0);
+        return new double[]{ingress.getX(start), ingress.getY(start), egress.getX(0), egress.getY(0)};
+    }
+
+    /**
+     * Order-independent key of the connection pair of a point; connection IDs are not unique
+     */
+    private static String key(Map<Connection, Integer> position, ConflictPoint point) {
+        int first = position.get(point.getFirst());
+        int second = position.get(point.getSecond());
+        return Math.min(first, second) + "/" + Math.max(first, second);
+    }
+}
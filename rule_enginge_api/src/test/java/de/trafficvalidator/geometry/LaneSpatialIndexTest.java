@@ -0,0 +1,207 @@
+package de.trafficvalidator.geometry;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the grid queries of the {@link LaneSpatialIndex} with a brute-force scan over every
+ * lane segment of the bundled configurations.
+ */
+public class LaneSpatialIndexTest {
+
+    private static final double[] RADII = {50, 300, 1500};
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testLanesCrossingLane(String id) throws Exception {
+        Intersection intersection = load(id);
+        Collection<Lane> lanes = intersection.getLanes().values();
+        LaneSpatialIndex index = LaneSpatialIndex.build(intersection);
+
+        assertTrue(index.getSegmentCount() > 0);
+        for (Lane lane : lanes) {
+            Set<Lane> expected = identitySet();
+            for (int i = 0; i + 1 < lane.getNodeCount(); i++) {
+                expected.addAll(bruteForceCrossing(lanes, lane.getX(i), lane.getY(i), lane.getX(i + 1), lane.getY(i + 1)));
+            }
+            expected.remove(lane);
+
+            List<Lane> actual = index.findLanesCrossing(lane);
+            assertUnique(actual);
+            // Lane polylines usually end at the stop line, so most configurations have no crossing lanes
+            assertEquals(expected, toSet(actual), "lane " + lane.getId());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testLanesCrossingConnection(String id) throws Exception {
+        Intersection intersection = load(id);
+        Collection<Lane> lanes = intersection.getLanes().values();
+        LaneSpatialIndex index = LaneSpatialIndex.build(intersection);
+
+        int crossings = 0;
+        for (Connection connection : intersection.getConnections()) {
+            Lane ingress = connection.getIngressLane();
+            Lane egress = connection.getEgressLane();
+            if (ingress == null || egress == null || ingress.getNodeCount() == 0 || egress.getNodeCount() == 0) {
+                assertTrue(index.findLanesCrossing(connection).isEmpty());
+                continue;
+            }
+            int start = Math.max(ingress.getStopLineIndex(), 0);
+            Set<Lane> expected = bruteForceCrossing(lanes,
+                    ingress.getX(start), ingress.getY(start), egress.getX(0), egress.getY(0));
+            expected.remove(ingress);
+            expected.remove(egress);
+
+            List<Lane> actual = index.findLanesCrossing(connection);
+            assertUnique(actual);
+            assertEquals(expected, toSet(actual), "connection " + connection.getId());
+            crossings += actual.size();
+        }
+        assertTrue(crossings > 0, "Some connections should cross lanes, or the comparison is vacuous");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testLanesNear(String id) throws Exception {
+        Intersection intersection = load(id);
+        Collection<Lane> lanes = intersection.getLanes().values();
+        LaneSpatialIndex index = LaneSpatialIndex.build(intersection);
+
+        for (Lane lane : lanes) {
+            for (int i = 0; i < lane.getNodeCount(); i++) {
+                for (double radius : RADII) {
+                    double x = lane.getX(i);
+                    double y = lane.getY(i);
+                    List<Lane> actual = index.findLanesNear(x, y, radius);
+                    assertUnique(actual);
+                    assertEquals(bruteForceNear(lanes, x, y, radius), toSet(actual),
+                            "lane " + lane.getId() + " node " + i + " radius " + radius);
+                    assertTrue(actual.contains(lane) || lane.getNodeCount() == 1,
+                            "A lane should be near its own nodes");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSegmentsIntersect() {
+        assertTrue(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 10, 0, 10, 10, 0), "Crossing diagonals");
+        assertTrue(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 0, 10, 0, 20, 5), "Touching endpoints");
+        assertTrue(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 0, 5, 0, 15, 0), "Collinear overlap");
+        assertFalse(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 0, 11, 0, 20, 0), "Collinear gap");
+        assertFalse(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 0, 0, 1, 10, 1), "Parallel");
+        assertFalse(LaneSpatialIndex.segmentsIntersect(0, 0, 10, 10, 6, 0, 20, 0), "Line crosses outside the segment");
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        LaneSpatialIndex index = LaneSpatialIndex.build(Collections.emptyList());
+        assertEquals(0, index.getSegmentCount());
+        assertTrue(index.findLanesCrossing(-100, -100, 100, 100).isEmpty());
+        assertTrue(index.findLanesNear(0, 0, 1000).isEmpty());
+    }
+
+    private static Set<Lane> bruteForceCrossing(Collection<Lane> lanes, double x1, double y1, double x2, double y2) {
+        Set<Lane> result = identitySet();
+        for (Lane lane : lanes) {
+            for (int i = 0; i + 1 < lane.getNodeCount(); i++) {
+                if (LaneSpatialIndex.segmentsIntersect(x1, y1, x2, y2,
+                        lane.getX(i), lane.getY(i), lane.getX(i + 1), lane.getY(i + 1))) {
+                    result.add(lane);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Set<Lane> bruteForceNear(Collection<Lane> lanes, double x, double y, double radius) {
+        Set<Lane> result = identitySet();
+        for (Lane lane : lanes) {
+            for (int i = 0; i + 1 < lane.getNodeCount(); i++) {
+                if (distanceToSegment(x, y, lane.getX(i), lane.getY(i), lane.getX(i + 1), lane.getY(i + 1)) <= radius) {
+                    result.add(lane);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double distanceToSegment(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        return Math.hypot(ax + t * dx - px, ay + t * dy - py);
+    }
+
+    private static void assertUnique(List<Lane> lanes) {
+        assertEquals(lanes.size(), toSet(lanes).size(), "Lanes should be reported once");
+    }
+
+    private static Set<Lane> toSet(List<Lane> lanes) {
+        Set<Lane> set = identitySet();
+        set.addAll(lanes);
+        return set;
+    }
+
+    private static Set<Lane> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    static Intersection load(String id) throws Exception {
+        Intersection intersection;
+        try (InputStream in = read("configurations/" + id + "/mapem.xml")) {
+            intersection = new MapemParser().parse(in);
+        }
+        try (InputStream in = read("configurations/" + id + "/configuration.stg")) {
+            StgParser.updateIntersection(intersection, new StgParser().parse(in));
+        }
+        return intersection;
+    }
+
+    private static InputStream read(String resource) {
+        InputStream in = LaneSpatialIndexTest.class.getClassLoader().getResourceAsStream(resource);
+        assertNotNull(in, "Missing resource " + resource);
+        return in;
+    }
+}
@@ -0,0 +1,485 @@
+package de.trafficvalidator.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates synthetic MAPEM + STG configurations of arbitrary size for load tests.
+ * <p>
+ * The approaches are spread evenly around the reference point. Every approach has ingress and
+ * egress vehicle lanes and optionally one ingress and one egress bike lane. Each ingress vehicle
+ * lane connects to the egress lanes of the other approaches, up to the configured number of
+ * connections per lane; the maneuver follows from the angle between the approaches. Vehicle
+ * connections of the same approach and maneuver share a logical signal group, bike connections
+ * have one per approach. Each logical signal group is mapped to a physical signal group through a
+ * traffic stream, so the output passes the same checks as the bundled configurations. Lane and connection IDs are numbered sequentially and are not limited to
+ * the 8 bit range of DSRC, so a configuration can hold thousands of connections.
+ * </p>
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath de.trafficvalidator.loadtest.SyntheticIntersectionGenerator <directory> <id> [profile]"}
+ * </p>
+ */
+public class SyntheticIntersectionGenerator {
+
+    private static final String NAMESPACES = "xmlns:ns0=\"http://www.ocit.org/map/MAPEM-PDU-Descriptions\" "
+            + "xmlns:MapExtension=\"http://www.ocit.org/map/MapExtension\" "
+            + "xmlns:ITS-Container=\"http://www.ocit.org/map/ITS-Container\" "
+            + "xmlns:DSRC=\"http://www.ocit.org/map/DSRC\"";
+
+    private static final String STRAIGHT = "100000000000";
+    private static final String LEFT_TURN = "010000000000";
+    private static final String RIGHT_TURN = "001000000000";
+
+    private static final String SHARED_WITH_VEHICLES = "0001000000";
+    private static final String SHARED_WITH_VEHICLES_AND_CYCLISTS = "0001000100";
+    private static final String SHARED_WITH_CYCLISTS = "0000000100";
+
+    private static final int LANE_WIDTH = 350;
+    private static final int NODE_SPACING = 1000;
+    private static final int NODES_PER_LANE = 4;
+
+    /**
+     * Predefined sizes, from the scale of the bundled junctions up to several thousand connections
+     */
+    public static final Map<String, SyntheticIntersectionGenerator> PROFILES = new LinkedHashMap<>();
+
+    static {
+        PROFILES.put("small", new SyntheticIntersectionGenerator(4, 2, 2, 4, 0, true));
+        PROFILES.put("medium", new SyntheticIntersectionGenerator(6, 4, 3, 12, 0, true));
+        PROFILES.put("large", new SyntheticIntersectionGenerator(8, 6, 4, 28, 0, true));
+        PROFILES.put("huge", new SyntheticIntersectionGenerator(12, 8, 6, 66, 48, true));
+    }
+
+    private final int approaches;
+    private final int ingressLanesPerApproach;
+    private final int egressLanesPerApproach;
+    private final int connectionsPerLane;
+    private final int signalGroups;
+    private final boolean bikeLanes;
+
+    /**
+     * @param approaches Number of approaches, spread evenly around the reference point
+     * @param ingressLanesPerApproach Ingress vehicle lanes per approach
+     * @param egressLanesPerApproach Egress vehicle lanes per approach
+     * @param connectionsPerLane Maximum number of connections per ingress vehicle lane
+     * @param signalGroups Number of physical signal groups, or 0 for one per logical signal group
+     * @param bikeLanes Whether every approach gets an ingress and an egress bike lane
+     */
+    public SyntheticIntersectionGenerator(int approaches, int ingressLanesPerApproach, int egressLanesPerApproach,
+                                          int connectionsPerLane, int signalGroups, boolean bikeLanes) {
+        if (approaches < 2 || ingressLanesPerApproach < 1 || egressLanesPerApproach < 1 || connectionsPerLane < 1) {
+            throw new IllegalArgumentException("At least two approaches with one ingress lane, one egress lane and one connection per lane are required");
+        }
+        this.approaches = approaches;
+        this.ingressLanesPerApproach = ingressLanesPerApproach;
+        this.egressLanesPerApproach = egressLanesPerApproach;
+        this.connectionsPerLane = connectionsPerLane;
+        this.signalGroups = signalGroups;
+        this.bikeLanes = bikeLanes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticIntersectionGenerator <directory> <id> [" + String.join("|", PROFILES.keySet()) + "]");
+            System.exit(1);
+        }
+        SyntheticIntersectionGenerator generator = profile(args.length > 2 ? args[2] : "large");
+        Configuration configuration = generator.generate(Integer.parseInt(args[1]));
+        configuration.write(Paths.get(args[0]));
+        System.out.printf("Generated configuration %s with %d lanes, %d connections and %d signal groups%n",
+                args[1], configuration.getLaneCount(), configuration.getConnectionCount(), configuration.getSignalGroupCount());
+    }
+
+    /**
+     * Returns the generator of a predefined profile
+     */
+    public static SyntheticIntersectionGenerator profile(String name) {
+        SyntheticIntersectionGenerator generator = PROFILES.get(name);
+        if (generator == null) {
+            throw new IllegalArgumentException("Unknown profile " + name + ", expected one of " + PROFILES.keySet());
+        }
+        return generator;
+    }
+
+    /**
+     * Generates a configuration with the given intersection ID
+     */
+    public Configuration generate(int intersectionId) {
+        List<LaneSpec> lanes = createLanes();
+        List<ConnectionSpec> connections = createConnections(lanes);
+
+        Map<Integer, Integer> physicalByLogical = new LinkedHashMap<>();
+        Map<Integer, String> typeByPhysical = new LinkedHashMap<>();
+        Map<Integer, ConnectionSpec> firstByLogical = new LinkedHashMap<>();
+        int logicalCount = 0;
+        for (ConnectionSpec connection : connections) {
+            logicalCount = Math.max(logicalCount, connection.logicalSignalGroup);
+        }
+        for (ConnectionSpec connection : connections) {
+            int logical = connection.logicalSignalGroup;
+            if (!physicalByLogical.containsKey(logical)) {
+                int physical = signalGroups <= 0 || signalGroups >= logicalCount ? logical : (logical - 1) % signalGroups + 1;
+                physicalByLogical.put(logical, physical);
+                typeByPhysical.putIfAbsent(physical, connection.ingress.bike ? "RD" : "FV");
+                firstByLogical.put(logical, connection);
+            }
+        }
+
+        String mapem = createMapem(intersectionId, lanes, connections, physicalByLogical, firstByLogical);
+        String stg = createStg(intersectionId, typeByPhysical);
+        return new Configuration(String.valueOf(intersectionId), mapem, stg,
+                lanes.size(), connections.size(), typeByPhysical.size());
+    }
+
+    /**
+     * Creates the lanes of all approaches: ingress vehicle lanes to the right of the approach axis,
+     * egress lanes to the left, and the bike lanes outermost
+     */
+    private List<LaneSpec> createLanes() {
+        List<LaneSpec> lanes = new ArrayList<>();
+        int laneId = 1;
+        int lanesPerSide = Math.max(ingressLanesPerApproach, egressLanesPerApproach) + 1;
+        // Distance of the stop lines from the reference point, large enough that neighbouring approaches don't overlap
+        double radius = Math.max(1500, lanesPerSide * LANE_WIDTH / Math.tan(Math.PI / approaches) + 500);
+
+        for (int a = 0; a < approaches; a++) {
+            double bearing = 2 * Math.PI * a / approaches;
+            for (int i = 0; i < ingressLanesPerApproach; i++) {
+                boolean outermost = i == ingressLanesPerApproach - 1;
+                lanes.add(new LaneSpec(laneId++, a, true, false, bearing, radius, i + 0.5,
+                        outermost ? SHARED_WITH_VEHICLES_AND_CYCLISTS : SHARED_WITH_VEHICLES));
+            }
+            for (int i = 0; i < egressLanesPerApproach; i++) {
+                lanes.add(new LaneSpec(laneId++, a, false, false, bearing, radius, -(i + 0.5),
+                        SHARED_WITH_VEHICLES_AND_CYCLISTS));
+            }
+            if (bikeLanes) {
+                lanes.add(new LaneSpec(laneId++, a, true, true, bearing, radius, ingressLanesPerApproach + 0.5,
+                        SHARED_WITH_CYCLISTS));
+                lanes.add(new LaneSpec(laneId++, a, false, true, bearing, radius, -(egressLanesPerApproach + 0.5),
+                        SHARED_WITH_CYCLISTS));
+            }
+        }
+        return lanes;
+    }
+
+    /**
+     * Connects every ingress lane to the egress lanes of the other approaches, nearest approaches first
+     */
+    private List<ConnectionSpec> createConnections(List<LaneSpec> lanes) {
+        List<ConnectionSpec> connections = new ArrayList<>();
+        Map<String, Integer> logicalSignalGroups = new HashMap<>();
+        int connectionId = 1;
+
+        for (LaneSpec ingress : lanes) {
+            if (!ingress.ingress) {
+                continue;
+            }
+            int limit = ingress.bike ? approaches - 1 : connectionsPerLane;
+            int count = 0;
+            for (int lane = 0; lane < egressLanesPerApproach && count < limit; lane++) {
+                for (int offset = 1; offset < approaches && count < limit; offset++) {
+                    int target = (ingress.approach + offset) % approaches;
+                    LaneSpec egress = findEgressLane(lanes, target, ingress.bike, lane);
+                    if (egress == null) {
+                        continue;
+                    }
+                    String maneuver = maneuver(ingress.bearing, egress.bearing);
+                    // Bike lanes have one signal head for all maneuvers, as in the bundled configurations
+                    String key = ingress.bike ? ingress.approach + "/bike" : ingress.approach + "/" + maneuver;
+                    int logical = logicalSignalGroups.computeIfAbsent(key, k -> logicalSignalGroups.size() + 1);
+                    connections.add(new ConnectionSpec(connectionId++, ingress, egress, maneuver, logical));
+                    count++;
+                }
+            }
+        }
+        return connections;
+    }
+
+    private static LaneSpec findEgressLane(List<LaneSpec> lanes, int approach, boolean bike, int index) {
+        int found = 0;
+        for (LaneSpec lane : lanes) {
+            if (!lane.ingress && lane.approach == approach && lane.bike == bike) {
+                if (found++ == index) {
+                    return lane;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Classifies the turn from the ingress approach into the egress approach.
+     * Traffic enters heading towards the reference point, so the turn angle is measured against the
+     * reverse of the ingress bearing; clockwise turns are right turns.
+     */
+    private static String maneuver(double ingressBearing, double egressBearing) {
+        double turn = Math.toDegrees(egressBearing - ingressBearing - Math.PI);
+        turn = ((turn % 360) + 540) % 360 - 180;
+        if (Math.abs(turn) <= 45) {
+            return STRAIGHT;
+        }
+        return turn > 0 ? RIGHT_TURN : LEFT_TURN;
+    }
+
+    private String createMapem(int intersectionId, List<LaneSpec> lanes, List<ConnectionSpec> connections,
+                               Map<Integer, Integer> physicalByLogical, Map<Integer, ConnectionSpec> firstByLogical) {
+        Map<LaneSpec, List<ConnectionSpec>> connectionsByLane = new HashMap<>();
+        for (ConnectionSpec connection : connections) {
+            connectionsByLane.computeIfAbsent(connection.ingress, lane -> new ArrayList<>()).add(connection);
+        }
+
+        StringBuilder xml = new StringBuilder(1024 + lanes.size() * 2048 + connections.size() * 512);
+        xml.append("<ns0:MAPEM ").append(NAMESPACES).append(" version=\"2\">\n");
+        xml.append("   <ns0:header>\n");
+        xml.append("      <ITS-Container:protocolVersion>1</ITS-Container:protocolVersion>\n");
+        xml.append("      <ITS-Container:messageID>5</ITS-Container:messageID>\n");
+        xml.append("      <ITS-Container:stationID>0</ITS-Container:stationID>\n");
+        xml.append("   </ns0:header>\n");
+        xml.append("   <ns0:map>\n");
+        xml.append("      <DSRC:msgIssueRevision>0</DSRC:msgIssueRevision>\n");
+        xml.append("      <DSRC:intersections>\n");
+        xml.append("         <DSRC:IntersectionGeometry>\n");
+        xml.append("            <DSRC:name>Synthetic ").append(intersectionId).append("</DSRC:name>\n");
+        xml.append("            <DSRC:id>\n");
+        xml.append("               <DSRC:region>49</DSRC:region>\n");
+        xml.append("               <DSRC:id>").append(intersectionId).append("</DSRC:id>\n");
+        xml.append("            </DSRC:id>\n");
+        xml.append("            <DSRC:revision>0</DSRC:revision>\n");
+        xml.append("            <DSRC:refPoint>\n");
+        xml.append("               <DSRC:lat>481128150</DSRC:lat>\n");
+        xml.append("               <DSRC:long>115263280</DSRC:long>\n");
+        xml.append("               <DSRC:elevation>0</DSRC:elevation>\n");
+        xml.append("            </DSRC:refPoint>\n");
+        xml.append("            <DSRC:laneWidth>").append(LANE_WIDTH).append("</DSRC:laneWidth>\n");
+        xml.append("            <DSRC:laneSet>\n");
+        for (LaneSpec lane : lanes) {
+            appendLane(xml, lane, connectionsByLane.getOrDefault(lane, List.of()));
+        }
+        xml.append("            </DSRC:laneSet>\n");
+        xml.append("         </DSRC:IntersectionGeometry>\n");
+        xml.append("      </DSRC:intersections>\n");
+        xml.append("   </ns0:map>\n");
+        xml.append("   <ns0:trafficStreams>\n");
+        for (Map.Entry<Integer, ConnectionSpec> entry : firstByLogical.entrySet()) {
+            ConnectionSpec connection = entry.getValue();
+            xml.append("      <MapExtension:TrafficStreamConfigData>\n");
+            xml.append("         <MapExtension:refLaneId>").append(connection.ingress.id).append("</MapExtension:refLaneId>\n");
+            xml.append("         <MapExtension:refConnectTo>").append(connection.egress.id).append("</MapExtension:refConnectTo>\n");
+            xml.append("         <MapExtension:intersectionPart>1</MapExtension:intersectionPart>\n");
+            xml.append("         <MapExtension:signalGroups>\n");
+            xml.append("            <MapExtension:primary>\n");
+            xml.append("               <MapExtension:vt>").append(physicalByLogical.get(entry.getKey())).append("</MapExtension:vt>\n");
+            xml.append("            </MapExtension:primary>\n");
+            xml.append("         </MapExtension:signalGroups>\n");
+            xml.append("      </MapExtension:TrafficStreamConfigData>\n");
+        }
+        xml.append("   </ns0:trafficStreams>\n");
+        xml.append("</ns0:MAPEM>\n");
+        return xml.toString();
+    }
+
+    private static void appendLane(StringBuilder xml, LaneSpec lane, List<ConnectionSpec> connections) {
+        xml.append("               <DSRC:GenericLane>\n");
+        xml.append("                  <DSRC:laneID>").append(lane.id).append("</DSRC:laneID>\n");
+        xml.append("                  <DSRC:name>").append(lane.bike ? "Radweg" : "Fahrstreifen").append("</DSRC:name>\n");
+        xml.append("                  <DSRC:").append(lane.ingress ? "ingressApproach" : "egressApproach").append('>')
+                .append(lane.approach + 1)
+                .append("</DSRC:").append(lane.ingress ? "ingressApproach" : "egressApproach").append(">\n");
+        xml.append("                  <DSRC:laneAttributes>\n");
+        xml.append("                     <DSRC:directionalUse>").append(lane.ingress ? "10" : "01").append("</DSRC:directionalUse>\n");
+        xml.append("                     <DSRC:sharedWith>").append(lane.sharedWith).append("</DSRC:sharedWith>\n");
+        xml.append("                     <DSRC:laneType>\n");
+        if (lane.bike) {
+            xml.append("                        <DSRC:bikeLane>0000000000000000</DSRC:bikeLane>\n");
+        } else {
+            xml.append("                        <DSRC:vehicle>00000000</DSRC:vehicle>\n");
+        }
+        xml.append("                     </DSRC:laneType>\n");
+        xml.append("                  </DSRC:laneAttributes>\n");
+        xml.append("                  <DSRC:nodeList>\n");
+        xml.append("                     <DSRC:nodes>\n");
+        int previousX = 0;
+        int previousY = 0;
+        for (int n = 0; n < NODES_PER_LANE; n++) {
+            int x = (int) Math.round(lane.x(n));
+            int y = (int) Math.round(lane.y(n));
+            xml.append("                        <DSRC:NodeXY>\n");
+            xml.append("                           <DSRC:delta>\n");
+            xml.append("                              <DSRC:node-XY6>\n");
+            xml.append("                                 <DSRC:x>").append(x - previousX).append("</DSRC:x>\n");
+            xml.append("                                 <DSRC:y>").append(y - previousY).append("</DSRC:y>\n");
+            xml.append("                              </DSRC:node-XY6>\n");
+            xml.append("                           </DSRC:delta>\n");
+            xml.append("                           <DSRC:attributes>\n");
+            if (n == 0 && lane.ingress) {
+                xml.append("                              <DSRC:localNode>\n");
+                xml.append("                                 <DSRC:stopLine/>\n");
+                xml.append("                              </DSRC:localNode>\n");
+            }
+            xml.append("                              <DSRC:dElevation>0</DSRC:dElevation>\n");
+            xml.append("                           </DSRC:attributes>\n");
+            xml.append("                        </DSRC:NodeXY>\n");
+            previousX = x;
+            previousY = y;
+        }
+        xml.append("                     </DSRC:nodes>\n");
+        xml.append("                  </DSRC:nodeList>\n");
+        if (!connections.isEmpty()) {
+            xml.append("                  <DSRC:connectsTo>\n");
+            for (ConnectionSpec connection : connections) {
+                xml.append("                     <DSRC:Connection>\n");
+                xml.append("                        <DSRC:connectingLane>\n");
+                xml.append("                           <DSRC:lane>").append(connection.egress.id).append("</DSRC:lane>\n");
+                xml.append("                           <DSRC:maneuver>").append(connection.maneuver).append("</DSRC:maneuver>\n");
+                xml.append("                        </DSRC:connectingLane>\n");
+                xml.append("                        <DSRC:signalGroup>").append(connection.logicalSignalGroup).append("</DSRC:signalGroup>\n");
+                xml.append("                        <DSRC:userClass>0</DSRC:userClass>\n");
+                xml.append("                        <DSRC:connectionID>").append(connection.id).append("</DSRC:connectionID>\n");
+                xml.append("                     </DSRC:Connection>\n");
+            }
+            xml.append("                  </DSRC:connectsTo>\n");
+        }
+        xml.append("               </DSRC:GenericLane>\n");
+    }
+
+    /**
+     * Creates the STG with one SIGNALGRUPPENDATEN entry per physical signal group
+     */
+    private static String createStg(int intersectionId, Map<Integer, String> typeByPhysical) {
+        StringBuilder stg = new StringBuilder(256 + typeByPhysical.size() * 512);
+        stg.append("#LSA-IDENTIFIZIERUNG\n");
+        stg.append(intersectionId).append("::\n");
+        stg.append("*GRUNDVERSORGUNG\n");
+        stg.append("#SIGNALGRUPPENDATEN\n");
+        stg.append(typeByPhysical.size()).append("::\n");
+        for (Map.Entry<Integer, String> entry : typeByPhysical.entrySet()) {
+            stg.append(String.format(" %d,      '%s%02d', '%s', 1, '101101',%n",
+                    entry.getKey(), entry.getValue(), entry.getKey(), entry.getValue()));
+            stg.append("            '-', ' ', 3, 3, 1, 'ro', 2, 'ge', 3, 'gr', '', '11|31', 2, 99, 99, 3,\n");
+            stg.append("              g, 1, 50, g1, -32020, '-', 1, 1, 'e0-10', \n");
+            stg.append("              f, 1, 100, f1, -32020, '=', 1, 3, 'e0-10', \n");
+            stg.append("              a, 1, 10, a1, -32020, ' ', 0, \n");
+            stg.append("           u, 0, \n");
+            stg.append("           z, 2, g1, f1::\n");
+        }
+        return stg.toString();
+    }
+
+    /**
+     * A generated MAPEM + STG pair
+     */
+    public static final class Configuration {
+        private final String id;
+        private final String mapem;
+        private final String stg;
+        private final int laneCount;
+        private final int connectionCount;
+        private final int signalGroupCount;
+
+        Configuration(String id, String mapem, String stg, int laneCount, int connectionCount, int signalGroupCount) {
+            this.id = id;
+            this.mapem = mapem;
+            this.stg = stg;
+            this.laneCount = laneCount;
+            this.connectionCount = connectionCount;
+            this.signalGroupCount = signalGroupCount;
+        }
+
+        /**
+         * Writes the configuration as {@code <directory>/<id>/mapem.xml} and {@code configuration.stg},
+         * the layout read by the file storage
+         */
+        public Path write(Path directory) throws IOException {
+            Path configurationDirectory = Files.createDirectories(directory.resolve(id));
+            Files.writeString(configurationDirectory.resolve("mapem.xml"), mapem, StandardCharsets.UTF_8);
+            Files.writeString(configurationDirectory.resolve("configuration.stg"), stg, StandardCharsets.UTF_8);
+            return configurationDirectory;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMapem() {
+            return mapem;
+        }
+
+        public String getStg() {
+            return stg;
+        }
+
+        public int getLaneCount() {
+            return laneCount;
+        }
+
+        public int getConnectionCount() {
+            return connectionCount;
+        }
+
+        public int getSignalGroupCount() {
+            return signalGroupCount;
+        }
+    }
+
+    private static final class LaneSpec {
+        final int id;
+        final int approach;
+        final boolean ingress;
+        final boolean bike;
+        final double bearing;
+        final double radius;
+        final double lateralOffset;
+        final String sharedWith;
+
+        LaneSpec(int id, int approach, boolean ingress, boolean bike, double bearing, double radius,
+                 double lateralOffset, String sharedWith) {
+            this.id = id;
+            this.approach = approach;
+            this.ingress = ingress;
+            this.bike = bike;
+            this.bearing = bearing;
+            this.radius = radius;
+            this.lateralOffset = lateralOffset;
+            this.sharedWith = sharedWith;
+        }
+
+        /**
+         * Node n lies on the approach axis (sin, cos of the bearing) and is shifted sideways to the right
+         * of the inbound driving direction, i.e. along (-cos, sin), for positive lateral offsets
+         */
+        double x(int n) {
+            return Math.sin(bearing) * (radius + n * NODE_SPACING) - Math.cos(bearing) * lateralOffset * LANE_WIDTH;
+        }
+
+        double y(int n) {
+            return Math.cos(bearing) * (radius + n * NODE_SPACING) + Math.sin(bearing) * lateralOffset * LANE_WIDTH;
+        }
+    }
+
+    private static final class ConnectionSpec {
+        final int id;
+        final LaneSpec ingress;
+        final LaneSpec egress;
+        final String maneuver;
+        final int logicalSignalGroup;
+
+        ConnectionSpec(int id, LaneSpec ingress, LaneSpec egress, String maneuver, int logicalSignalGroup) {
+            this.id = id;
+            this.ingress = ingress;
+            this.egress = egress;
+            this.maneuver = maneuver;
+            this.logicalSignalGroup = logicalSignalGroup;
+        }
+    }
+}
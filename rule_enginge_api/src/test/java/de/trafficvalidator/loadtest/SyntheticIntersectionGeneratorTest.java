@@ -0,0 +1,38 @@
+package de.trafficvalidator.loadtest;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticIntersectionGeneratorTest {
+
+    @Test
+    public void testGeneratedConfigurationParses() throws Exception {
+        SyntheticIntersectionGenerator.Configuration configuration =
+                SyntheticIntersectionGenerator.profile("medium").generate(9002);
+
+        Intersection intersection = new MapemParser().parse(
+                new ByteArrayInputStream(configuration.getMapem().getBytes(StandardCharsets.UTF_8)));
+        StgParser stgParser = new StgParser();
+        stgParser.parse(new ByteArrayInputStream(configuration.getStg().getBytes(StandardCharsets.UTF_8)));
+        stgParser.updateIntersection(intersection);
+
+        assertEquals(configuration.getLaneCount(), intersection.getLanes().size());
+        assertEquals(configuration.getConnectionCount(), intersection.getConnections().size());
+        assertEquals(configuration.getSignalGroupCount(), intersection.getPhysicalSignalGroups().size());
+        assertEquals(6, intersection.getIngressLanesByDirection().size(), "Every approach should get its own direction");
+
+        for (Connection connection : intersection.getConnections()) {
+            assertTrue(connection.hasSignalGroups(), "Connection " + connection.getId() + " should have a signal group");
+        }
+        assertTrue(intersection.getConnections().stream().anyMatch(Connection::isCyclistRightTurn),
+                "The configuration should contain cyclist right turns");
+    }
+}
@@ -0,0 +1,240 @@
+package de.trafficvalidator.loadtest;
+
+import de.trafficvalidator.TrafficValidatorApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop load test of {@code /api/validate/{id}} on synthetic intersections.
+ * <p>
+ * For every profile of {@link SyntheticIntersectionGenerator} and every concurrency level, the
+ * given number of clients send validation requests back to back. After a warm-up period the
+ * latency of every request is recorded, and throughput and latency percentiles are reported per
+ * run. Responses other than 200, or with an "error" entry, count as errors.
+ * </p>
+ * <p>
+ * Without a {@code url} argument the configurations are generated into a temporary directory and
+ * the application is started in-process on a random port, reading them through
+ * {@code storage.basePath=file:...}. With {@code url}, the running instance must already serve the
+ * configurations written by the generator under the IDs 9001, 9002, ... in profile order.
+ * </p>
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath de.trafficvalidator.loadtest.ValidationLoadTest profiles=small,large concurrency=1,8,32 duration=20"}
+ * </p>
+ * Arguments (all optional): {@code url}, {@code profiles} (default small,medium,large; huge must be
+ * requested explicitly), {@code concurrency}, {@code ruleset}, and
+ * {@code duration} and {@code warmup} in seconds.
+ */
+public class ValidationLoadTest {
+
+    private static final int FIRST_ID = 9001;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "profiles", "small,medium,large",
+                "concurrency", "1,4,16,64",
+                "ruleset", "cyclist-arrow",
+                "duration", "20",
+                "warmup", "5"));
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            options.put(keyValue[0], keyValue[1]);
+        }
+
+        List<String> profiles = Arrays.asList(options.get("profiles").split(","));
+        Map<String, String> idByProfile = new LinkedHashMap<>();
+        Map<String, Integer> connectionsByProfile = new HashMap<>();
+        List<String> allProfiles = new ArrayList<>(SyntheticIntersectionGenerator.PROFILES.keySet());
+        for (String profile : profiles) {
+            idByProfile.put(profile, String.valueOf(FIRST_ID + allProfiles.indexOf(profile)));
+        }
+
+        ConfigurableApplicationContext context = null;
+        String url = options.get("url");
+        if (url == null) {
+            Path directory = Files.createTempDirectory("synthetic-configurations");
+            for (String profile : profiles) {
+                SyntheticIntersectionGenerator.Configuration configuration = SyntheticIntersectionGenerator.profile(profile)
+                        .generate(Integer.parseInt(idByProfile.get(profile)));
+                configuration.write(directory);
+                connectionsByProfile.put(profile, configuration.getConnectionCount());
+            }
+            // Warm up on the smallest profile, the warm-up also counts all its conflict points
+            context = startApplication(directory, idByProfile.values().stream().min(String::compareTo).get());
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        } else {
+            for (String profile : profiles) {
+                connectionsByProfile.put(profile, SyntheticIntersectionGenerator.profile(profile)
+                        .generate(Integer.parseInt(idByProfile.get(profile))).getConnectionCount());
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long durationNanos = Long.parseLong(options.get("duration")) * 1_000_000_000L;
+        long warmupNanos = Long.parseLong(options.get("warmup")) * 1_000_000_000L;
+
+        System.out.printf("%-8s %11s %11s %10s %9s %9s %9s %9s %7s%n",
+                "profile", "connections", "concurrency", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        try {
+            for (String profile : profiles) {
+                URI uri = URI.create(url + "/api/validate/" + idByProfile.get(profile) + "?ruleset=" + options.get("ruleset"));
+                for (String concurrency : options.get("concurrency").split(",")) {
+                    Result result = run(client, uri, Integer.parseInt(concurrency), warmupNanos, durationNanos);
+                    System.out.printf("%-8s %11d %11s %10.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                            profile, connectionsByProfile.get(profile), concurrency, result.throughput(),
+                            result.percentileMillis(50), result.percentileMillis(95), result.percentileMillis(99),
+                            result.percentileMillis(100), result.errors);
+                }
+            }
+        } finally {
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+        }
+    }
+
+    /**
+     * Starts the application with the generated configurations, quiet logging and a random port
+     */
+    private static ConfigurableApplicationContext startApplication(Path directory, String warmupId) {
+        // The devtools restarter would relaunch the application in a new class loader on its own thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return SpringApplication.run(TrafficValidatorApplication.class,
+                "--storage.basePath=file:" + directory.toAbsolutePath(),
+                "--server.port=0",
+                "--warmup.intersectionId=" + warmupId,
+                "--warmup.iterations=1",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.de.trafficvalidator=WARN",
+                "--logging.level.org.drools=WARN",
+                "--logging.level.org.kie=WARN");
+    }
+
+    /**
+     * Runs the given number of clients against the URI; latencies are only recorded after the warm-up
+     */
+    private static Result run(HttpClient client, URI uri, int concurrency, long warmupNanos, long durationNanos)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(1)).GET().build();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        AtomicBoolean failed = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        Worker[] workers = new Worker[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker();
+            workers[i] = worker;
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end && !failed.get()) {
+                        long sent = System.nanoTime();
+                        boolean ok;
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            ok = response.statusCode() == 200 && !response.body().contains("\"error\":");
+                        } catch (Exception e) {
+                            ok = false;
+                            if (e instanceof InterruptedException) {
+                                failed.set(true);
+                            }
+                        }
+                        long received = System.nanoTime();
+                        if (sent >= measureFrom) {
+                            worker.record(received - sent, ok);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = 0;
+        for (Worker worker : workers) {
+            total += worker.count;
+        }
+        long[] latencies = new long[total];
+        int errors = 0;
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+            errors += worker.errors;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, durationNanos);
+    }
+
+    /**
+     * Latencies recorded by one client thread
+     */
+    private static final class Worker {
+        long[] latencies = new long[1024];
+        int count;
+        int errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    /**
+     * Sorted latencies and error count of one run
+     */
+    private static final class Result {
+        final long[] sortedLatencies;
+        final int errors;
+        final long durationNanos;
+
+        Result(long[] sortedLatencies, int errors, long durationNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+            this.durationNanos = durationNanos;
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (durationNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+    }
+}
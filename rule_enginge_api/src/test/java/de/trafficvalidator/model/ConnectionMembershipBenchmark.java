@@ -0,0 +1,122 @@
+package de.trafficvalidator.model;
+
+import ch.qos.logback.classic.Level;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the signal group membership lookups behind the signal group summary of
+ * {@code configurations/752}: the connections of every physical signal group, and the signal
+ * groups and IDs of every connection. The baseline repeats the lookups with the copying,
+ * boxed-list accessors {@link Connection} had before the array and bit set memberships.
+ * <p>
+ * Run with the GC profiler to see the allocation per operation:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main ConnectionMembershipBenchmark -prof gc"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionMembershipBenchmark {
+
+    private Intersection intersection;
+    private int[] physicalSignalGroupIds;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without Spring the logback default is DEBUG, which would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        ClassLoader classLoader = ConnectionMembershipBenchmark.class.getClassLoader();
+        try (InputStream mapem = classLoader.getResourceAsStream("configurations/752/mapem.xml");
+             InputStream stg = classLoader.getResourceAsStream("configurations/752/configuration.stg")) {
+            intersection = new MapemParser().parse(mapem);
+            StgParser stgParser = new StgParser();
+            stgParser.parse(stg);
+            stgParser.updateIntersection(intersection);
+        }
+        physicalSignalGroupIds = intersection.getPhysicalSignalGroups().keySet().stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        // Both variants must find the same connections before their numbers mean anything
+        for (int id : physicalSignalGroupIds) {
+            if (!intersection.getConnectionsByPhysicalSignalGroupId(id).equals(copyingConnectionsOf(id))) {
+                throw new IllegalStateException("Membership mismatch for signal group " + id);
+            }
+        }
+    }
+
+    @Benchmark
+    public void views(Blackhole blackhole) {
+        for (int id : physicalSignalGroupIds) {
+            blackhole.consume(intersection.getConnectionsByPhysicalSignalGroupId(id));
+        }
+        for (Connection connection : intersection.getConnections()) {
+            for (SignalGroup signalGroup : connection.getSignalGroups()) {
+                blackhole.consume(signalGroup);
+            }
+            for (int i = 0; i < connection.getPhysicalSignalGroupIdCount(); i++) {
+                blackhole.consume(connection.getPhysicalSignalGroupId(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void copies(Blackhole blackhole) {
+        for (int id : physicalSignalGroupIds) {
+            blackhole.consume(copyingConnectionsOf(id));
+        }
+        for (Connection connection : intersection.getConnections()) {
+            for (SignalGroup signalGroup : new ArrayList<>(connection.getSignalGroups())) {
+                blackhole.consume(signalGroup);
+            }
+            for (Integer id : new ArrayList<>(connection.getPhysicalSignalGroupIds())) {
+                blackhole.consume(id);
+            }
+        }
+    }
+
+    /**
+     * Baseline: the stream filter over copied, boxed ID lists used before the bit set membership
+     */
+    private List<Connection> copyingConnectionsOf(int physicalSignalGroupId) {
+        return intersection.getConnections().stream()
+                .filter(conn -> new ArrayList<>(conn.getPhysicalSignalGroupIds()).contains(physicalSignalGroupId))
+                .collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ConnectionMembershipBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,185 @@
+package de.trafficvalidator.parser;
+
+import ch.qos.logback.classic.Level;
+import de.trafficvalidator.model.Lane;
+import de.trafficvalidator.util.DsrcBitString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single child-walk {@link GenericLaneReader} with the previous
+ * getElementsByTagName based lane extraction on the bundled MAPEMs.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main MapemParserBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapemParserBenchmark {
+
+    @Param({"644", "752", "1040"})
+    public String intersectionId;
+
+    private byte[] mapemBytes;
+    private NodeList laneNodes;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without Spring the logback default is DEBUG, which would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        try (InputStream in = MapemParserBenchmark.class.getClassLoader()
+                .getResourceAsStream("configurations/" + intersectionId + "/mapem.xml")) {
+            mapemBytes = in.readAllBytes();
+        }
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(mapemBytes));
+        document.getDocumentElement().normalize();
+        laneNodes = document.getElementsByTagName("DSRC:GenericLane");
+    }
+
+    @Benchmark
+    public void childWalkLanes(Blackhole blackhole) {
+        for (int i = 0; i < laneNodes.getLength(); i++) {
+            blackhole.consume(GenericLaneReader.read((Element) laneNodes.item(i)));
+        }
+    }
+
+    @Benchmark
+    public void tagLookupLanes(Blackhole blackhole) {
+        for (int i = 0; i < laneNodes.getLength(); i++) {
+            blackhole.consume(readWithTagLookups((Element) laneNodes.item(i)));
+        }
+    }
+
+    @Benchmark
+    public void parseDocument(Blackhole blackhole) throws Exception {
+        blackhole.consume(new MapemParser().parse(new ByteArrayInputStream(mapemBytes)));
+    }
+
+    /**
+     * Baseline: the lane extraction MapemParser used before the child-walk reader
+     */
+    private static Lane readWithTagLookups(Element laneElement) {
+        Lane lane = new Lane(Integer.parseInt(getTagContent(laneElement, "DSRC:laneID")));
+
+        String laneName = getTagContent(laneElement, "DSRC:name");
+        if (laneName != null && !laneName.isEmpty()) {
+            lane.setName(laneName);
+        }
+
+        String ingressApproach = getTagContent(laneElement, "DSRC:ingressApproach");
+        if (ingressApproach != null && !ingressApproach.isEmpty()) {
+            lane.setIngress(true);
+            lane.setApproachId(Integer.parseInt(ingressApproach));
+        }
+
+        String egressApproach = getTagContent(laneElement, "DSRC:egressApproach");
+        if (egressApproach != null && !egressApproach.isEmpty()) {
+            lane.setEgress(true);
+            lane.setApproachId(Integer.parseInt(egressApproach));
+        }
+
+        Element laneAttributesElement = (Element) laneElement.getElementsByTagName("DSRC:laneAttributes").item(0);
+        if (laneAttributesElement != null) {
+            parseSharedWith(lane, getTagContent(laneAttributesElement, "DSRC:sharedWith"));
+
+            Element laneTypeElement = (Element) laneAttributesElement.getElementsByTagName("DSRC:laneType").item(0);
+            if (laneTypeElement != null) {
+                lane.setVehicleLane(laneTypeElement.getElementsByTagName("DSRC:vehicle").getLength() > 0);
+                lane.setBikeLane(laneTypeElement.getElementsByTagName("DSRC:bikeLane").getLength() > 0);
+                lane.setCrosswalk(laneTypeElement.getElementsByTagName("DSRC:crosswalk").getLength() > 0);
+            }
+        }
+
+        NodeList nodeXYNodes = laneElement.getElementsByTagName("DSRC:NodeXY");
+        for (int j = 0; j < nodeXYNodes.getLength(); j++) {
+            Element nodeXYElement = (Element) nodeXYNodes.item(j);
+            Element deltaElement = (Element) nodeXYElement.getElementsByTagName("DSRC:delta").item(0);
+            if (deltaElement == null) {
+                continue;
+            }
+
+            NodeList deltaChildren = deltaElement.getChildNodes();
+            for (int k = 0; k < deltaChildren.getLength(); k++) {
+                Node childNode = deltaChildren.item(k);
+                if (childNode.getNodeType() == Node.ELEMENT_NODE &&
+                        childNode.getNodeName().startsWith("DSRC:node-XY")) {
+                    Element xyElement = (Element) childNode;
+                    int x = Integer.parseInt(getTagContent(xyElement, "DSRC:x"));
+                    int y = Integer.parseInt(getTagContent(xyElement, "DSRC:y"));
+
+                    boolean isStopLine = false;
+                    Element attributesElement = (Element) nodeXYElement.getElementsByTagName("DSRC:attributes").item(0);
+                    if (attributesElement != null) {
+                        NodeList localNodeList = attributesElement.getElementsByTagName("DSRC:localNode");
+                        if (localNodeList.getLength() > 0) {
+                            Element localNodeElement = (Element) localNodeList.item(0);
+                            isStopLine = localNodeElement.getElementsByTagName("DSRC:stopLine").getLength() > 0;
+                        }
+                    }
+                    lane.addNode(x, y, isStopLine);
+                }
+            }
+        }
+
+        return lane;
+    }
+
+    /**
+     * Baseline: the sharedWith handling MapemParser used before the child-walk reader
+     */
+    private static void parseSharedWith(Lane lane, String sharedWith) {
+        if (sharedWith == null || sharedWith.isEmpty()) {
+            return;
+        }
+
+        MapemParser.applySharedWith(lane, DsrcBitString.decode(sharedWith));
+    }
+
+    private static String getTagContent(Element element, String tagName) {
+        NodeList nodes = element.getElementsByTagName(tagName);
+        if (nodes.getLength() > 0) {
+            return nodes.item(0).getTextContent().trim();
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MapemParserBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,151 @@
+package de.trafficvalidator.parser;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import de.trafficvalidator.model.SignalGroup;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parses the bundled configurations with one shared {@link MapemParser} and {@link StgParser} from
+ * many threads at once and compares every result with a sequential parse.
+ */
+public class MapemParserConcurrencyTest {
+
+    private static final String[] IDS = {"644", "752", "1040"};
+    private static final int THREADS = 32;
+    private static final int PARSES_PER_THREAD = 25;
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+    }
+
+    @Test
+    public void testSharedParsersAreReentrant() throws Exception {
+        Map<String, byte[]> mapems = new HashMap<>();
+        Map<String, byte[]> stgs = new HashMap<>();
+        for (String id : IDS) {
+            mapems.put(id, read("configurations/" + id + "/mapem.xml"));
+            stgs.put(id, read("configurations/" + id + "/configuration.stg"));
+        }
+
+        MapemParser mapemParser = new MapemParser();
+        StgParser stgParser = new StgParser();
+
+        Map<String, String> expected = new HashMap<>();
+        for (String id : IDS) {
+            expected.put(id, fingerprint(parse(mapemParser, stgParser, mapems.get(id), stgs.get(id))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PARSES_PER_THREAD; i++) {
+                        String id = IDS[(offset + i) % IDS.length];
+                        String actual = fingerprint(parse(mapemParser, stgParser, mapems.get(id), stgs.get(id)));
+                        assertEquals(expected.get(id), actual, "Concurrent parse of " + id + " differs");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Intersection parse(MapemParser mapemParser, StgParser stgParser, byte[] mapem, byte[] stg)
+            throws Exception {
+        Intersection intersection = mapemParser.parse(new ByteArrayInputStream(mapem));
+        StgParser.updateIntersection(intersection, stgParser.parse(new ByteArrayInputStream(stg)));
+        return intersection;
+    }
+
+    /**
+     * Describes lanes, connections and signal groups in a stable order
+     */
+    static String fingerprint(Intersection intersection) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(intersection.getId()).append('/').append(intersection.getRevision()).append('\n');
+
+        List<Lane> lanes = new ArrayList<>(intersection.getLanes().values());
+        lanes.sort(Comparator.comparingInt(Lane::getId));
+        for (Lane lane : lanes) {
+            sb.append("lane ").append(lane.getId())
+                    .append(' ').append(lane.getCardinalDirection())
+                    .append(' ').append(lane.getNodeCount())
+                    .append(' ').append(lane.allowsCyclists())
+                    .append(' ').append(lane.getOutgoingConnections().size())
+                    .append('\n');
+        }
+
+        List<Connection> connections = new ArrayList<>(intersection.getConnections());
+        connections.sort(Comparator.comparingInt((Connection c) -> c.getIngressLane().getId())
+                .thenComparingInt(c -> c.getEgressLane().getId()));
+        for (Connection connection : connections) {
+            sb.append("connection ").append(connection.getId())
+                    .append(' ').append(connection.getIngressLane().getId())
+                    .append("->").append(connection.getEgressLane().getId())
+                    .append(' ').append(connection.getManeuvers())
+                    .append(' ').append(connection.getPhysicalSignalGroupIds())
+                    .append('\n');
+        }
+
+        List<SignalGroup> signalGroups = new ArrayList<>(intersection.getPhysicalSignalGroups().values());
+        signalGroups.sort(Comparator.comparingInt(SignalGroup::getPhysicalSignalGroupId));
+        for (SignalGroup signalGroup : signalGroups) {
+            sb.append("signalGroup ").append(signalGroup.getPhysicalSignalGroupId())
+                    .append(' ').append(signalGroup.getName())
+                    .append(' ').append(signalGroup.getType())
+                    .append(' ').append(signalGroup.getClassification())
+                    .append(' ').append(signalGroup.getControlledConnections().size())
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static byte[] read(String resource) throws Exception {
+        try (InputStream in = MapemParserConcurrencyTest.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            return in.readAllBytes();
+        }
+    }
+}
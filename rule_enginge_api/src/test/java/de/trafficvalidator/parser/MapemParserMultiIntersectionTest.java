@@ -0,0 +1,102 @@
+package de.trafficvalidator.parser;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Intersection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Splits a MAPEM with the intersections of 644 and 752 in one document and compares every part
+ * with the separately parsed configuration. Both parts have region 49 and ID 1 and share lane IDs,
+ * so the traffic streams can only be routed by their intersectionPart.
+ */
+public class MapemParserMultiIntersectionTest {
+
+    private static final Pattern GEOMETRY = Pattern.compile(
+            "<DSRC:IntersectionGeometry>.*?</DSRC:IntersectionGeometry>", Pattern.DOTALL);
+    private static final Pattern TRAFFIC_STREAM = Pattern.compile(
+            "<MapExtension:TrafficStreamConfigData>.*?</MapExtension:TrafficStreamConfigData>", Pattern.DOTALL);
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+    }
+
+    @Test
+    public void testParseAllSplitsIntersections() throws Exception {
+        String first = read("644");
+        String second = read("752");
+
+        List<Intersection> intersections = new MapemParser().parseAll(stream(merge(first, second)));
+
+        assertEquals(2, intersections.size());
+        assertEquals(fingerprint(first), MapemParserConcurrencyTest.fingerprint(intersections.get(0)));
+        assertEquals(fingerprint(second), MapemParserConcurrencyTest.fingerprint(intersections.get(1)));
+    }
+
+    @Test
+    public void testParseReturnsFirstIntersection() throws Exception {
+        String first = read("644");
+        Intersection intersection = new MapemParser().parse(stream(merge(first, read("752"))));
+        assertEquals(fingerprint(first), MapemParserConcurrencyTest.fingerprint(intersection));
+    }
+
+    /**
+     * Appends the intersection and traffic streams of the second MAPEM to the first one as intersection part 2
+     */
+    public static String merge(String first, String second) {
+        Matcher geometry = GEOMETRY.matcher(second);
+        assertTrue(geometry.find());
+
+        StringBuilder streams = new StringBuilder();
+        Matcher stream = TRAFFIC_STREAM.matcher(second);
+        while (stream.find()) {
+            streams.append(stream.group().replace(
+                    "<MapExtension:intersectionPart>1</MapExtension:intersectionPart>",
+                    "<MapExtension:intersectionPart>2</MapExtension:intersectionPart>"));
+        }
+        assertTrue(streams.length() > 0);
+
+        return first
+                .replace("</DSRC:intersections>", geometry.group() + "</DSRC:intersections>")
+                .replace("</ns0:trafficStreams>", streams + "</ns0:trafficStreams>");
+    }
+
+    static String read(String id) throws Exception {
+        try (InputStream in = MapemParserMultiIntersectionTest.class.getClassLoader()
+                .getResourceAsStream("configurations/" + id + "/mapem.xml")) {
+            assertNotNull(in, id);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String fingerprint(String mapem) throws Exception {
+        return MapemParserConcurrencyTest.fingerprint(new MapemParser().parse(stream(mapem)));
+    }
+
+    private static InputStream stream(String mapem) {
+        return new ByteArrayInputStream(mapem.getBytes(StandardCharsets.UTF_8));
+    }
+}
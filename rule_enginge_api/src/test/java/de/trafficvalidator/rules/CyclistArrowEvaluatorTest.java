@@ -0,0 +1,123 @@
+package de.trafficvalidator.rules;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.loadtest.SyntheticIntersectionGenerator;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.ValidationResult;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.drools.ruleunits.api.RuleUnitInstance;
+import org.drools.ruleunits.api.RuleUnitProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test of the cyclist arrow rules: the {@link CyclistArrowEvaluator} and the
+ * {@link PartitionedRuleUnitExecutor} must produce the same results as the {@link CyclistArrowRuleUnit}
+ * fired by Drools as a single instance, for the bundled configurations and every synthetic intersection profile.
+ */
+public class CyclistArrowEvaluatorTest {
+
+    private static final String CATEGORY = "cyclist-arrow";
+
+    private static Level previousLevel;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"644", "752", "1040"})
+    public void testBundledConfiguration(String id) throws Exception {
+        assertEquivalent(parse(read("configurations/" + id + "/mapem.xml"), read("configurations/" + id + "/configuration.stg")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("syntheticProfiles")
+    public void testSyntheticIntersection(String profile) throws Exception {
+        SyntheticIntersectionGenerator.Configuration configuration = SyntheticIntersectionGenerator.profile(profile).generate(9000);
+        assertEquivalent(parse(configuration.getMapem().getBytes(StandardCharsets.UTF_8),
+                configuration.getStg().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static Set<String> syntheticProfiles() {
+        return SyntheticIntersectionGenerator.PROFILES.keySet();
+    }
+
+    private static void assertEquivalent(Intersection intersection) throws Exception {
+        RuleUnitRegistry registry = new RuleUnitRegistry();
+        List<ValidationResult> expected;
+        ResultContainer<ValidationResult> ruleUnit = registry.createRuleUnit(CATEGORY, intersection);
+        try (RuleUnitInstance<?> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
+            instance.fire();
+            expected = ruleUnit.collectResults();
+        }
+        assertSameResults(expected, registry.getJavaEvaluator(CATEGORY).evaluate(intersection));
+        assertSameResults(expected, new PartitionedRuleUnitExecutor(registry, pool).fire(CATEGORY, intersection));
+    }
+
+    private static void assertSameResults(List<ValidationResult> expected, List<ValidationResult> actual) {
+        assertEquals(expected.size(), actual.size(), "Both engines should return a result per connection");
+        int invalid = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            ValidationResult single = expected.get(i);
+            ValidationResult other = actual.get(i);
+            assertSame(single.getConnection(), other.getConnection(), "Results should be in connection order");
+            String connection = "connection " + single.getConnection().getId();
+            assertEquals(single.isValid(), other.isValid(), connection);
+            // Drools does not define the order in which the rules fire for a connection
+            assertEquals(sorted(single.getReasons()), sorted(other.getReasons()), connection);
+            if (!single.isValid()) {
+                invalid++;
+            }
+        }
+        assertTrue(invalid > 0, "The intersection should violate some of the rules, or the comparison is vacuous");
+    }
+
+    private static List<String> sorted(List<String> reasons) {
+        List<String> sorted = new ArrayList<>(reasons);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static Intersection parse(byte[] mapem, byte[] stg) throws Exception {
+        Intersection intersection = new MapemParser().parse(new ByteArrayInputStream(mapem));
+        StgParser.updateIntersection(intersection, new StgParser().parse(new ByteArrayInputStream(stg)));
+        return intersection;
+    }
+
+    private static byte[] read(String resource) throws Exception {
+        try (InputStream in = CyclistArrowEvaluatorTest.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, "Missing resource " + resource);
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.trafficvalidator.rules;
+
+import ch.qos.logback.classic.Level;
+import de.trafficvalidator.loadtest.SyntheticIntersectionGenerator;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.ValidationResult;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.drools.ruleunits.api.RuleUnitInstance;
+import org.drools.ruleunits.api.RuleUnitProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares firing the cyclist arrow rule unit as a single instance with the
+ * {@link PartitionedRuleUnitExecutor} on synthetic junctions with many approaches.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main PartitionedRuleUnitBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PartitionedRuleUnitBenchmark {
+
+    private static final String CATEGORY = "cyclist-arrow";
+
+    @Param({"large", "huge"})
+    public String profile;
+
+    @Param({"2", "4", "8"})
+    public int parallelism;
+
+    private Intersection intersection;
+    private RuleUnitRegistry registry;
+    private ForkJoinPool pool;
+    private PartitionedRuleUnitExecutor executor;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without Spring the logback default is DEBUG, which would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        SyntheticIntersectionGenerator.Configuration configuration = SyntheticIntersectionGenerator.profile(profile).generate(9000);
+        intersection = new MapemParser().parse(new ByteArrayInputStream(configuration.getMapem().getBytes(StandardCharsets.UTF_8)));
+        StgParser.updateIntersection(intersection,
+                new StgParser().parse(new ByteArrayInputStream(configuration.getStg().getBytes(StandardCharsets.UTF_8))));
+
+        registry = new RuleUnitRegistry();
+        pool = new ForkJoinPool(parallelism);
+        executor = new PartitionedRuleUnitExecutor(registry, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<ValidationResult> singleInstance() {
+        ResultContainer<ValidationResult> ruleUnit = registry.createRuleUnit(CATEGORY, intersection);
+        try (RuleUnitInstance<?> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
+            instance.fire();
+            return ruleUnit.collectResults();
+        }
+    }
+
+    @Benchmark
+    public List<ValidationResult> partitioned() {
+        return executor.fire(CATEGORY, intersection);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PartitionedRuleUnitBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
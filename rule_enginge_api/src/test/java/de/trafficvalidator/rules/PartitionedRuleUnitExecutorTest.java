@@ -0,0 +1,78 @@
+package de.trafficvalidator.rules;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import de.trafficvalidator.util.StageTimer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests of the {@link PartitionedRuleUnitExecutor} beyond the result equivalence covered by {@link CyclistArrowEvaluatorTest}:
+ * worker allocation and unsupported categories
+ */
+public class PartitionedRuleUnitExecutorTest {
+
+    private static final String CATEGORY = "cyclist-arrow";
+
+    private static Level previousLevel;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testWorkerAllocationIsReported() throws Exception {
+        assumeTrue(StageTimer.currentThreadAllocatedBytes() >= 0, "Thread allocation accounting unsupported");
+        PartitionedRuleUnitExecutor executor = new PartitionedRuleUnitExecutor(new RuleUnitRegistry(), pool);
+
+        PartitionedRuleUnitExecutor.PartitionedResults fired = executor.execute(CATEGORY, load("1040"));
+        assertTrue(fired.getWorkerAllocatedBytes() > 0, "Batches fired by the pool workers should report their allocation");
+    }
+
+    @Test
+    public void testUnsupportedCategory() {
+        PartitionedRuleUnitExecutor executor = new PartitionedRuleUnitExecutor(new RuleUnitRegistry(), pool);
+        assertFalse(executor.supports("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> executor.fire("unknown", new Intersection(1, 0)));
+    }
+
+    private static Intersection load(String id) throws Exception {
+        Intersection intersection;
+        try (InputStream in = read("configurations/" + id + "/mapem.xml")) {
+            intersection = new MapemParser().parse(in);
+        }
+        try (InputStream in = read("configurations/" + id + "/configuration.stg")) {
+            StgParser.updateIntersection(intersection, new StgParser().parse(in));
+        }
+        return intersection;
+    }
+
+    private static InputStream read(String resource) {
+        InputStream in = PartitionedRuleUnitExecutorTest.class.getClassLoader().getResourceAsStream(resource);
+        assertNotNull(in, "Missing resource " + resource);
+        return in;
+    }
+}
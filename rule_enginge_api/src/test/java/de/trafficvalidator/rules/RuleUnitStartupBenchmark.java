@@ -0,0 +1,149 @@
+package de.trafficvalidator.rules;
+
+import ch.qos.logback.classic.Level;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.parser.MapemParser;
+import de.trafficvalidator.parser.StgParser;
+import org.drools.ruleunits.api.RuleUnitData;
+import org.drools.ruleunits.api.RuleUnitInstance;
+import org.drools.ruleunits.api.RuleUnitProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Measures time to first validation and heap after startup with the build-time executable model
+ * and with runtime DRL compilation.
+ * <p>
+ * Every sample runs in a fresh JVM, since Drools keeps compiled rule units for the lifetime of the
+ * process. The runtime DRL mode hides the generated rule unit registration from the service loader,
+ * which makes Drools compile the DRL exactly as in a {@code -Pruntime-drl} build.
+ * </p>
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath de.trafficvalidator.rules.RuleUnitStartupBenchmark"}
+ * </p>
+ */
+public class RuleUnitStartupBenchmark {
+
+    private static final String RULE_UNIT_SERVICE = "META-INF/services/org.drools.ruleunits.api.RuleUnit";
+    private static final String[] MODES = {"executable-model", "runtime-drl"};
+    private static final int SAMPLES = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1) {
+            runSample(args[0]);
+            return;
+        }
+
+        System.out.printf("%-18s %28s %22s%n", "mode", "first validation (ms, median)", "heap after GC (MB)");
+        for (String mode : MODES) {
+            List<Long> millis = new ArrayList<>();
+            List<Long> heap = new ArrayList<>();
+            for (int i = 0; i < SAMPLES; i++) {
+                long[] sample = forkSample(mode);
+                millis.add(sample[0]);
+                heap.add(sample[1]);
+            }
+            System.out.printf("%-18s %28d %22d%n", mode, median(millis), median(heap));
+        }
+    }
+
+    /**
+     * Runs one sample in a new JVM and returns {time to first validation in ms, heap in MB}
+     */
+    private static long[] forkSample(String mode) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                RuleUnitStartupBenchmark.class.getName(), mode)
+                .redirectErrorStream(true)
+                .start();
+
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    result = line;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Sample for mode " + mode + " failed");
+        }
+        String[] fields = result.split(" ");
+        return new long[]{Long.parseLong(fields[1]), Long.parseLong(fields[2])};
+    }
+
+    /**
+     * Parses the 644 sample and fires every registered rule unit once, like the first request does
+     */
+    private static void runSample(String mode) throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        if ("runtime-drl".equals(mode)) {
+            ClassLoader parent = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(new HidingClassLoader(parent));
+        }
+
+        long start = System.nanoTime();
+        ClassLoader loader = RuleUnitStartupBenchmark.class.getClassLoader();
+        Intersection intersection;
+        try (InputStream mapem = loader.getResourceAsStream("configurations/644/mapem.xml");
+             InputStream stg = loader.getResourceAsStream("configurations/644/configuration.stg")) {
+            intersection = new MapemParser().parse(mapem);
+            StgParser stgParser = new StgParser();
+            stgParser.parse(stg);
+            stgParser.updateIntersection(intersection);
+        }
+
+        RuleUnitRegistry registry = new RuleUnitRegistry();
+        for (String category : registry.getAvailableCategories()) {
+            RuleUnitData ruleUnit = registry.createRuleUnit(category, intersection);
+            try (RuleUnitInstance<RuleUnitData> instance = RuleUnitProvider.get().createRuleUnitInstance(ruleUnit)) {
+                instance.fire();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.gc();
+        long heapMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        System.out.println("RESULT " + millis + " " + heapMb);
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Hides the generated rule unit registration so Drools falls back to compiling the DRL
+     */
+    private static final class HidingClassLoader extends ClassLoader {
+        HidingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return RULE_UNIT_SERVICE.equals(name) ? null : super.getResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return RULE_UNIT_SERVICE.equals(name) ? Collections.emptyEnumeration() : super.getResources(name);
+        }
+    }
+}
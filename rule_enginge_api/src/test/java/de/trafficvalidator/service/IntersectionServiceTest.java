@@ -0,0 +1,117 @@
+package de.trafficvalidator.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.parser.MapemParserMultiIntersectionTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registration of the intersections of a multi-intersection MAPEM, built from 644 and 752
+ */
+public class IntersectionServiceTest {
+
+    private static final String PART_2_ID =
+            "<DSRC:IntersectionGeometry>\n            <DSRC:name>München</DSRC:name>\n            <DSRC:id>\n"
+            + "               <DSRC:region>49</DSRC:region>\n               <DSRC:id>1</DSRC:id>";
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    public static void quietLogging() {
+        // Without Spring the logback default is DEBUG, which would flood the output with every parse
+        Logger logger = (Logger) LoggerFactory.getLogger("de.trafficvalidator");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("de.trafficvalidator")).setLevel(previousLevel);
+    }
+
+    @Test
+    public void testIntersectionsOfDifferentRegionsAreRegisteredApart() throws Exception {
+        // Same intersection ID, different region
+        IntersectionService service = new IntersectionService(new MergedStorage(merged("50")));
+
+        List<Intersection> intersections = service.loadIntersections("merged");
+        assertEquals(2, intersections.size());
+        assertEquals(Set.of("merged/49/1", "merged/50/1"), service.getRegisteredIntersectionKeys());
+        assertSame(intersections.get(0), service.getRegisteredIntersection("merged", 49, 1));
+        assertSame(intersections.get(1), service.getRegisteredIntersection("merged", 50, 1));
+    }
+
+    @Test
+    public void testDuplicateIntersectionIsRejected() throws Exception {
+        IntersectionService service = new IntersectionService(new MergedStorage(merged("49")));
+
+        Exception e = assertThrows(Exception.class, () -> service.loadIntersections("merged"));
+        assertTrue(e.getMessage().contains("more than once"), e.getMessage());
+        assertTrue(service.getRegisteredIntersectionKeys().isEmpty(), "Nothing should be registered");
+    }
+
+    /**
+     * 644 and 752 in one MAPEM, with the given region for the 752 part
+     */
+    private static String merged(String secondRegion) throws Exception {
+        String second = read("configurations/752/mapem.xml");
+        assertTrue(second.contains(PART_2_ID));
+        second = second.replace(PART_2_ID, PART_2_ID.replace("<DSRC:region>49<", "<DSRC:region>" + secondRegion + "<"));
+        return MapemParserMultiIntersectionTest.merge(read("configurations/644/mapem.xml"), second);
+    }
+
+    private static String read(String resource) throws Exception {
+        try (InputStream in = IntersectionServiceTest.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Serves the merged MAPEM and the STG of 644 for every ID
+     */
+    private static final class MergedStorage implements StorageService {
+        private final byte[] mapem;
+
+        MergedStorage(String mapem) {
+            this.mapem = mapem.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream getMapemFile(String id) {
+            return new ByteArrayInputStream(mapem);
+        }
+
+        @Override
+        public InputStream getStgFile(String id) {
+            return IntersectionServiceTest.class.getClassLoader().getResourceAsStream("configurations/644/configuration.stg");
+        }
+
+        @Override
+        public InputStream getRulesetFile(String rulesetName) {
+            return null;
+        }
+
+        @Override
+        public List<String> getAvailableIntersectionIds() {
+            return List.of("merged");
+        }
+
+        @Override
+        public List<String> getAvailableRulesets() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.trafficvalidator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testRejectsBeyondLimitAndQueue() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 0, clock::get);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(limiter.tryAcquire(10, TimeUnit.MILLISECONDS), "No queue, so the third request is rejected");
+
+        first.release();
+        first.release();
+        assertEquals(1, limiter.getInFlight(), "Releasing twice must not free a second permit");
+        assertNotNull(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testQueuedRequestGetsReleasedPermit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, clock::get);
+        AdaptiveConcurrencyLimiter.Permit holder = limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+
+        Thread releaser = new Thread(() -> {
+            while (limiter.getQueued() == 0) {
+                Thread.onSpinWait();
+            }
+            holder.release();
+        });
+        releaser.start();
+
+        assertNotNull(limiter.tryAcquire(10, TimeUnit.SECONDS));
+        releaser.join();
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    public void testLimitFollowsLatency() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0, clock::get);
+
+        // Steady latency with the limit in use lets the limit grow
+        runRounds(limiter, 50, TimeUnit.MILLISECONDS.toNanos(10));
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "Limit should grow under steady latency, was " + grown);
+
+        // Latency rising fourfold signals queueing and shrinks the limit
+        runRounds(limiter, 3, TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(limiter.getLimit() < grown, "Limit should shrink when latency rises, was " + limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksOnLatencyAtLowUtilization() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0, clock::get);
+        runRounds(limiter, 50, TimeUnit.MILLISECONDS.toNanos(10));
+        int grown = limiter.getLimit();
+
+        // A single request at a time does not let the limit grow any further
+        runSequential(limiter, 20, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(grown, limiter.getLimit(), "Limit should not grow while mostly unused");
+
+        // but a latency spike still shrinks it
+        runSequential(limiter, 5, TimeUnit.MILLISECONDS.toNanos(40));
+        assertTrue(limiter.getLimit() < grown, "Limit should shrink when latency rises, was " + limiter.getLimit());
+    }
+
+    /**
+     * Runs requests one after another, each taking the given latency
+     */
+    private void runSequential(AdaptiveConcurrencyLimiter limiter, int requests, long latencyNanos) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+            clock.addAndGet(latencyNanos);
+            permit.release();
+        }
+    }
+
+    /**
+     * Fills the limit, advances the clock by the latency and releases all permits, per round
+     */
+    private void runRounds(AdaptiveConcurrencyLimiter limiter, int rounds, long latencyNanos) throws Exception {
+        for (int round = 0; round < rounds; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            AdaptiveConcurrencyLimiter.Permit permit;
+            while ((permit = limiter.tryAcquire(0, TimeUnit.MILLISECONDS)) != null) {
+                permits.add(permit);
+            }
+            clock.addAndGet(latencyNanos);
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+    }
+}
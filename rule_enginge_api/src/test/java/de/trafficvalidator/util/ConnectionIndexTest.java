@@ -0,0 +1,121 @@
+package de.trafficvalidator.util;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionIndexTest {
+
+    @Test
+    public void testCollidingKeysAreProbed() {
+        // Four expected connections give a table of eight slots, which holds four without growing
+        ConnectionIndex index = new ConnectionIndex(4);
+        List<int[]> colliding = collidingLanePairs(8, 5);
+
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int[] pair = colliding.get(i);
+            Connection connection = connection(pair[0], pair[1]);
+            connections.add(connection);
+            assertNull(index.put(pair[0], pair[1], connection));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            int[] pair = colliding.get(i);
+            assertSame(connections.get(i), index.get(pair[0], pair[1]));
+        }
+        int[] missing = colliding.get(4);
+        assertNull(index.get(missing[0], missing[1]), "A miss must probe past the whole cluster");
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testOverwriteReturnsPreviousConnection() {
+        ConnectionIndex index = new ConnectionIndex(4);
+        List<int[]> colliding = collidingLanePairs(8, 3);
+        for (int[] pair : colliding) {
+            index.put(pair[0], pair[1], connection(pair[0], pair[1]));
+        }
+
+        // The last pair sits at the end of the probe sequence
+        int[] last = colliding.get(2);
+        Connection previous = index.get(last[0], last[1]);
+        Connection replacement = connection(last[0], last[1]);
+        assertSame(previous, index.put(last[0], last[1], replacement));
+        assertSame(replacement, index.get(last[0], last[1]));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testMissesOnEmptyAndFilledIndex() {
+        ConnectionIndex index = new ConnectionIndex();
+        assertTrue(index.isEmpty());
+        assertNull(index.get(1, 2));
+
+        index.put(1, 2, connection(1, 2));
+        assertFalse(index.isEmpty());
+        assertNull(index.get(2, 1), "Ingress and egress must not be interchangeable");
+        assertNull(index.get(1, 3));
+    }
+
+    @Test
+    public void testGrowsPastLoadFactorLikeHashMap() {
+        // Starts with four slots, so the table doubles many times on the way
+        ConnectionIndex index = new ConnectionIndex(1);
+        Map<Long, Connection> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            // A small ID range makes overwrites frequent; negative egress IDs check the key packing
+            int ingress = random.nextInt(100);
+            int egress = random.nextInt(200) - 100;
+            Connection connection = connection(ingress, egress);
+            assertSame(reference.put(ConnectionIndex.key(ingress, egress), connection), index.put(ingress, egress, connection));
+            assertEquals(reference.size(), index.size());
+        }
+
+        for (int ingress = -1; ingress <= 100; ingress++) {
+            for (int egress = -101; egress <= 100; egress++) {
+                assertSame(reference.get(ConnectionIndex.key(ingress, egress)), index.get(ingress, egress));
+            }
+        }
+    }
+
+    @Test
+    public void testNullConnectionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionIndex().put(1, 2, null));
+    }
+
+    /**
+     * Finds lane pairs whose keys share their home slot in a table of the given capacity,
+     * using the same Fibonacci hashing as {@link ConnectionIndex}
+     */
+    private static List<int[]> collidingLanePairs(int capacity, int count) {
+        List<int[]> pairs = new ArrayList<>();
+        int home = -1;
+        for (int ingress = 1; pairs.size() < count; ingress++) {
+            int egress = ingress + 1;
+            long hash = ConnectionIndex.key(ingress, egress) * 0x9E3779B97F4A7C15L;
+            int slot = (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+            if (home < 0) {
+                home = slot;
+            }
+            if (slot == home) {
+                pairs.add(new int[]{ingress, egress});
+            }
+        }
+        return pairs;
+    }
+
+    private static Connection connection(int ingressLaneId, int egressLaneId) {
+        return new Connection(new Lane(ingressLaneId), new Lane(egressLaneId));
+    }
+}
@@ -0,0 +1,161 @@
+package de.trafficvalidator.util;
+
+import ch.qos.logback.classic.Level;
+import de.trafficvalidator.model.Direction;
+import de.trafficvalidator.model.Intersection;
+import de.trafficvalidator.model.Lane;
+import de.trafficvalidator.parser.MapemParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batched bearing and sector computation of {@link DirectionCalculator} with the
+ * previous per-lane atan2 and if-chain classification, over the lane positions of a fleet built
+ * by repeating the bundled intersections.
+ * <p>
+ * Run with:
+ * {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main DirectionCalculatorBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionCalculatorBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(DirectionCalculatorBenchmark.class);
+
+    @Param({"1", "1000"})
+    public int fleetSize;
+
+    private double[] positions;
+    private int count;
+    private double[] bearings;
+    private int[] sectors;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without Spring the logback default is DEBUG, which would dominate the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        // Lane positions relative to the intersection center
+        List<double[]> lanePositions = new ArrayList<>();
+        for (String id : new String[]{"644", "752", "1040"}) {
+            try (InputStream in = DirectionCalculatorBenchmark.class.getClassLoader()
+                    .getResourceAsStream("configurations/" + id + "/mapem.xml")) {
+                Intersection intersection = new MapemParser().parse(in);
+                for (Lane lane : intersection.getLanes().values()) {
+                    if (lane.getNodeCount() > 0) {
+                        int node = Math.max(lane.getStopLineIndex(), 0);
+                        lanePositions.add(new double[]{
+                                lane.getX(node) - intersection.getCenterX(),
+                                lane.getY(node) - intersection.getCenterY()});
+                    }
+                }
+            }
+        }
+
+        count = lanePositions.size() * fleetSize;
+        positions = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            double[] position = lanePositions.get(i % lanePositions.size());
+            positions[2 * i] = position[0];
+            positions[2 * i + 1] = position[1];
+        }
+        bearings = new double[count];
+        sectors = new int[count];
+
+        // Both variants must agree before their timings mean anything
+        DirectionCalculator.compassBearings(positions, count, 0, 0, bearings);
+        DirectionCalculator.sectors(bearings, count, sectors);
+        for (int i = 0; i < count; i++) {
+            if (DirectionCalculator.direction(sectors[i]) != perLaneDirection(positions[2 * i], positions[2 * i + 1])) {
+                throw new IllegalStateException("Direction mismatch at position " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void batched(Blackhole blackhole) {
+        DirectionCalculator.compassBearings(positions, count, 0, 0, bearings);
+        DirectionCalculator.sectors(bearings, count, sectors);
+        blackhole.consume(sectors);
+    }
+
+    @Benchmark
+    public void perLane(Blackhole blackhole) {
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(perLaneDirection(positions[2 * i], positions[2 * i + 1]));
+        }
+    }
+
+    /**
+     * Baseline: the per-lane classification DirectionCalculator used before the batch variant
+     */
+    private static Direction perLaneDirection(double dx, double dy) {
+        logger.debug("Delta values: dx={}, dy={}", dx, dy);
+
+        double angleDeg = Math.toDegrees(Math.atan2(dy, dx));
+        double compassAngle = (90 - angleDeg) % 360;
+        if (compassAngle < 0) {
+            compassAngle += 360;
+        }
+
+        logger.debug("Calculated compass angle: {} degrees", compassAngle);
+
+        if (compassAngle < 22.5 || compassAngle >= 337.5) {
+            logger.debug("Angle {} falls in NORTH sector ({}-360° or 0-{}°)", compassAngle, 337.5, 22.5);
+            return Direction.N;
+        } else if (compassAngle < 67.5) {
+            logger.debug("Angle {} falls in NORTHEAST sector ({}-{}°)", compassAngle, 22.5, 67.5);
+            return Direction.NE;
+        } else if (compassAngle < 112.5) {
+            logger.debug("Angle {} falls in EAST sector ({}-{}°)", compassAngle, 67.5, 112.5);
+            return Direction.E;
+        } else if (compassAngle < 157.5) {
+            logger.debug("Angle {} falls in SOUTHEAST sector ({}-{}°)", compassAngle, 112.5, 157.5);
+            return Direction.SE;
+        } else if (compassAngle < 202.5) {
+            logger.debug("Angle {} falls in SOUTH sector ({}-{}°)", compassAngle, 157.5, 202.5);
+            return Direction.S;
+        } else if (compassAngle < 247.5) {
+            logger.debug("Angle {} falls in SOUTHWEST sector ({}-{}°)", compassAngle, 202.5, 247.5);
+            return Direction.SW;
+        } else if (compassAngle < 292.5) {
+            logger.debug("Angle {} falls in WEST sector ({}-{}°)", compassAngle, 247.5, 292.5);
+            return Direction.W;
+        } else {
+            logger.debug("Angle {} falls in NORTHWEST sector ({}-{}°)", compassAngle, 292.5, 337.5);
+            return Direction.NW;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DirectionCalculatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,46 @@
+package de.trafficvalidator.util;
+
+import de.trafficvalidator.model.Connection;
+import de.trafficvalidator.model.Lane;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DsrcBitStringTest {
+
+    @Test
+    public void testDecodeNumbersBitsFromTheLeft() {
+        assertEquals(DsrcBitString.MANEUVER_RIGHT, DsrcBitString.decode("001000000000"));
+        assertEquals(DsrcBitString.SHARED_INDIVIDUAL_MOTORIZED_VEHICLES | DsrcBitString.SHARED_CYCLISTS,
+                DsrcBitString.decode("0001000100"));
+        assertEquals(0, DsrcBitString.decode("000000000000"));
+        assertEquals(0, DsrcBitString.decode(null));
+    }
+
+    @Test
+    public void testDecodeSkipsWhitespaceAndUnderscores() {
+        assertEquals(DsrcBitString.decode("0001000100"), DsrcBitString.decode(" 0001_0001 00\n"));
+
+        char[] buffer = "xx0001 0001xx".toCharArray();
+        assertEquals(DsrcBitString.decode("00010001"), DsrcBitString.decode(buffer, 2, 9));
+    }
+
+    @Test
+    public void testDecodeCountsOtherCharactersAsUnsetBits() {
+        assertEquals(DsrcBitString.MANEUVER_LEFT, DsrcBitString.decode("x1"));
+    }
+
+    @Test
+    public void testSixteenBitMasksStayUnsigned() {
+        int mask = DsrcBitString.decode("1000000000000001");
+        assertEquals(0x8001, mask);
+
+        Lane lane = new Lane(1);
+        lane.setLaneTypeAttributes(mask);
+        assertEquals(mask, lane.getLaneTypeAttributes());
+
+        Connection connection = new Connection(lane, new Lane(2));
+        connection.setManeuvers(mask);
+        assertEquals(mask, connection.getManeuvers());
+    }
+}
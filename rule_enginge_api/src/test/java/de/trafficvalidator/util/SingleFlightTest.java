@@ -0,0 +1,78 @@
+package de.trafficvalidator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    @Test
+    public void testConcurrentCallsShareOneComputation() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch joined = new CountDownLatch(FOLLOWERS);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        try {
+            // The leader only finishes once every follower has joined its computation
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("644/cyclist-arrow", () -> {
+                computations.incrementAndGet();
+                leaderStarted.countDown();
+                await(joined);
+                return new Object();
+            }, () -> fail("The first call must compute")));
+            assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+            List<Future<Object>> followers = new ArrayList<>();
+            for (int i = 0; i < FOLLOWERS; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("644/cyclist-arrow", () -> {
+                    computations.incrementAndGet();
+                    return new Object();
+                }, joined::countDown)));
+            }
+
+            Object result = leader.get(10, TimeUnit.SECONDS);
+            for (Future<Object> follower : followers) {
+                assertSame(result, follower.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(0, singleFlight.inFlight());
+
+            // Once finished, the key computes afresh
+            assertNotSame(result, singleFlight.execute("644/cyclist-arrow", Object::new, () -> fail("Nothing in flight")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsSharedAndReleased() {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("752", () -> {
+            throw new IllegalStateException("parse failed");
+        }, () -> { }));
+        assertEquals(0, singleFlight.inFlight());
+        assertNotNull(singleFlight.execute("752", Object::new, () -> { }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Followers did not join");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package de.trafficvalidator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class StageTimerTest {
+
+    private static final int ALLOCATION = 16 * 1024 * 1024;
+
+    // Keeps the allocations from being optimized away
+    private static volatile byte[] sink;
+
+    @Test
+    public void testAllocationOnOtherThreadIsMissedUnlessAdded() throws Exception {
+        assumeTrue(StageTimer.currentThreadAllocatedBytes() >= 0, "Thread allocation accounting unsupported");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            StageTimer timer = new StageTimer();
+            timer.record("handedOff", () -> executor.submit(StageTimerTest::allocate).get());
+            assertTrue(timer.getStages().get("handedOff").getAllocatedBytes() < ALLOCATION,
+                    "Only the timer's thread is measured");
+
+            timer.record("added", () -> {
+                long[] workerBytes = new long[1];
+                executor.submit(() -> {
+                    long before = StageTimer.currentThreadAllocatedBytes();
+                    allocate();
+                    workerBytes[0] = StageTimer.currentThreadAllocatedBytes() - before;
+                }).get();
+                timer.addAllocatedBytes("added", workerBytes[0]);
+                return null;
+            });
+            assertTrue(timer.getStages().get("added").getAllocatedBytes() >= ALLOCATION);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnknownAllocationMarksStageAndTotal() throws Exception {
+        StageTimer timer = new StageTimer();
+        timer.record("parse", () -> null);
+        timer.record("fire", () -> {
+            timer.addAllocatedBytes("fire", -1);
+            return null;
+        });
+        timer.record("fire", () -> null);
+
+        assertEquals(-1, timer.getStages().get("fire").getAllocatedBytes());
+        assertEquals(-1L, timer.toMap().get("totalAllocatedBytes"));
+        assertArrayEquals(new String[]{"parse", "fire"}, timer.getStages().keySet().toArray());
+    }
+
+    private static byte[] allocate() {
+        sink = new byte[ALLOCATION];
+        return sink;
+    }
+}